@@ -0,0 +1,71 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de lotes de cpfs: laço com {@link CpfCnpjUtils#checkCPFCNPJ(String)} contra
+ * {@link CpfCnpjBatchValidator} sobre strings e sobre o buffer de dígitos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfCnpjBatchValidatorBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int quantidade;
+
+    private String[] documentos;
+    private byte[] digitos;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        documentos = new String[quantidade];
+        StringBuilder buffer = new StringBuilder(quantidade * CpfCnpjUtils.CPF_DOC_LENGTH);
+        for (int i = 0; i < quantidade; i++) {
+            long numero = (long) (random.nextDouble() * 100_000_000_000L);
+            documentos[i] = StringTools.lPad(Long.toString(numero), CpfCnpjUtils.CPF_DOC_LENGTH, '0');
+            buffer.append(documentos[i]);
+        }
+        digitos = buffer.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Benchmark
+    public BitSet laco() {
+        BitSet validos = new BitSet(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            if (CpfCnpjUtils.checkCPFCNPJ(documentos[i])) {
+                validos.set(i);
+            }
+        }
+        return validos;
+    }
+
+    @Benchmark
+    public BitSet lote() {
+        return CpfCnpjBatchValidator.checkCPFCNPJ(documentos);
+    }
+
+    @Benchmark
+    public BitSet buffer() {
+        return CpfCnpjBatchValidator.checkCPF(digitos, quantidade);
+    }
+}
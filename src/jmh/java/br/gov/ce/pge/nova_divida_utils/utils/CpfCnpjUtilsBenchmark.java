@@ -0,0 +1,69 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de validação e formatação de {@link CpfCnpjUtils}.
+ * <p>
+ * Executar com {@code mvn -Pjmh verify}; o perfil já inclui o profiler de GC ({@code gc.alloc.rate.norm}
+ * indica os bytes alocados por operação).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfCnpjUtilsBenchmark {
+
+    /** CPFs nos formatos encontrados nos arquivos de inscrição: formatado, sem formatação e inválido. */
+    @State(Scope.Benchmark)
+    public static class Cpf {
+        @Param({"156.846.111-92", "15684611192", "123.456.789-00"})
+        public String valor;
+    }
+
+    /** CNPJs formatado, sem formatação e inválido. */
+    @State(Scope.Benchmark)
+    public static class Cnpj {
+        @Param({"44.679.387/0001-20", "44679387000120", "44.679.387/0001-21"})
+        public String valor;
+    }
+
+    /** Documentos sem formatação, como chegam do banco, a serem formatados. */
+    @State(Scope.Benchmark)
+    public static class NaoFormatado {
+        @Param({"15684611192", "44679387000120", "aaaaaaaaaaa"})
+        public String valor;
+    }
+
+    @Benchmark
+    public boolean checkCPF(Cpf cpf) {
+        return CpfCnpjUtils.checkCPF(cpf.valor);
+    }
+
+    @Benchmark
+    public boolean checkCNPJ(Cnpj cnpj) {
+        return CpfCnpjUtils.checkCNPJ(cnpj.valor);
+    }
+
+    @Benchmark
+    public boolean checkCPFCNPJ(Cnpj cnpj) {
+        return CpfCnpjUtils.checkCPFCNPJ(cnpj.valor);
+    }
+
+    @Benchmark
+    public String formatCpfCnpj(NaoFormatado documento) {
+        return CpfCnpjUtils.formatCpfCnpj(documento.valor);
+    }
+}
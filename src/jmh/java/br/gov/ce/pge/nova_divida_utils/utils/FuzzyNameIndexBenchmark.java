@@ -0,0 +1,69 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca dos 10 nomes mais parecidos em um {@link FuzzyNameIndex} com nomes sintéticos de devedores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class FuzzyNameIndexBenchmark {
+
+    private static final String[] PRIMEIROS = {"JOSE", "MARIA", "ANA", "FRANCISCO", "ANTONIO", "FRANCISCA",
+            "JOAO", "RAIMUNDA", "PAULO", "LUCAS", "FERNANDA", "TIAGO", "GABRIEL", "LETICIA", "CICERO", "LUIZ",
+            "CARLOS", "EDSON", "VALDEMIR", "JOANA", "RITA", "SEBASTIAO", "MANOEL", "EXPEDITO", "ZULEIDE"};
+    private static final String[] SOBRENOMES = {"SILVA", "SANTOS", "OLIVEIRA", "SOUSA", "LIMA", "PEREIRA",
+            "FERREIRA", "COSTA", "RODRIGUES", "ALMEIDA", "NASCIMENTO", "ARAUJO", "CAVALCANTE", "BEZERRA",
+            "HOLANDA", "MACEDO", "BARBOSA", "ROCHA", "MOREIRA", "XIMENES", "PINHEIRO", "TEIXEIRA", "BRAGA",
+            "MAGALHAES", "FEITOSA", "JUCA", "GIRAO", "ARRAIS", "QUEIROZ", "PONTE", "FROTA", "BANDEIRA"};
+
+    @Param({"2000000"})
+    public int quantidade;
+
+    private FuzzyNameIndex index;
+    private String[] consultas;
+    private int proxima;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new FuzzyNameIndex();
+        for (int i = 0; i < quantidade; i++) {
+            index.add(nome(random));
+        }
+        consultas = new String[1024];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = nome(random).replace('S', 'Z').replace("PH", "F");
+        }
+    }
+
+    private static String nome(Random random) {
+        return PRIMEIROS[random.nextInt(PRIMEIROS.length)] + " DA "
+                + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " "
+                + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+    }
+
+    @Benchmark
+    public List<FuzzyNameIndex.Resultado> search() {
+        proxima = (proxima + 1) & (consultas.length - 1);
+        return index.search(consultas[proxima], 10);
+    }
+}
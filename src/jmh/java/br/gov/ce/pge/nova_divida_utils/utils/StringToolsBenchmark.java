@@ -0,0 +1,89 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das transformações de texto de {@link StringTools} com nomes de devedores realistas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringToolsBenchmark {
+
+    private static final CharFilter FORMATACAO = CharFilter.of(' ', '.', '-', '/');
+    private static final StringTools.Sanitizer NOME = StringTools.sanitizer()
+            .removerAcentos(true)
+            .permitir(StringTools.Sanitizer.Classe.LETRAS_ASCII, StringTools.Sanitizer.Classe.DIGITOS_ASCII,
+                    StringTools.Sanitizer.Classe.ESPACOS)
+            .permitir('.', '-')
+            .caixa(StringTools.Sanitizer.Caixa.MAIUSCULAS)
+            .aparar(true)
+            .juntarEspacos(true)
+            .build();
+
+    /** Nome só com ASCII, nome acentuado e razão social com pontuação. */
+    @Param({
+            "JOSE DA SILVA SANTOS",
+            "JOÃO CONCEIÇÃO DE ARAÚJO MÁRIO",
+            "Comércio & Indústria Irmãos Gonçalves (Filial 02) Ltda.; CNPJ 44.679.387/0001-20"})
+    public String nome;
+
+    /** Conversão de texto não numérico, caso comum nas importações com documentos inválidos. */
+    @Benchmark
+    public Long toLong() {
+        return StringTools.toLong(nome);
+    }
+
+    @Benchmark
+    public String removeCharacters() {
+        return StringTools.removeCharacters(nome, ' ', '.', '-', '/');
+    }
+
+    @Benchmark
+    public String charFilterRemove() {
+        return FORMATACAO.remove(nome);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return StringTools.normalize(nome);
+    }
+
+    @Benchmark
+    public String normalizeCached() {
+        return StringTools.normalizeCached(nome);
+    }
+
+    @Benchmark
+    public String removePunctuationExcept() {
+        return StringTools.removePunctuationExcept(nome);
+    }
+
+    /** Limpeza de nome encadeando as operações, como antes do {@link StringTools.Sanitizer}. */
+    @Benchmark
+    public String sanitizeEncadeado() {
+        return StringTools.removePunctuationExcept(StringTools.normalize(nome))
+                .toUpperCase()
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return NOME.sanitize(nome);
+    }
+}
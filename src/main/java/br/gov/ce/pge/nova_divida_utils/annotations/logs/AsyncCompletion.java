@@ -0,0 +1,16 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Callback chamado quando o valor de um retorno assíncrono ({@code CompletionStage}, {@code Mono}
+ * ou {@code Flux}) de um método anotado é efetivamente concluído.
+ */
+@FunctionalInterface
+interface AsyncCompletion {
+
+    /**
+     * @param value         valor produzido, ou {@code null} em caso de erro.
+     * @param error         erro que concluiu o retorno, ou {@code null} em caso de sucesso.
+     * @param durationNanos duração até a conclusão.
+     */
+    void complete(Object value, Throwable error, long durationNanos);
+}
@@ -0,0 +1,133 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Identifica erros repetidos pela "impressão digital" da exceção (classe, primeiros frames da pilha
+ * e método anotado) para que, dentro de uma janela de tempo, apenas a primeira ocorrência seja logada
+ * com a pilha completa.
+ * <p>
+ * As repetições são apenas contadas e depois informadas em uma única linha de resumo. O armazenamento
+ * é um {@link ConcurrentHashMap} limitado: quando cheio, as entradas com janela vencida são removidas
+ * (com as repetições pendentes entregues ao resumo) e, se ainda assim não houver espaço, o erro é tratado
+ * como primeira ocorrência.
+ */
+final class ErrorFingerprints {
+
+    /** Retorno de {@link #registrar} indicando uma repetição, que não deve ser logada. */
+    static final long REPETIDA = -1;
+
+    private final long janelaNanos;
+    private final int maxFrames;
+    private final int capacidade;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Erro já visto, com o início da janela corrente e as repetições ainda não informadas.
+     */
+    record Entry(String methodId, String errorClass, String message, AtomicLong windowStart, AtomicLong repeticoes) {}
+
+    ErrorFingerprints(LogAutomaticoProperties.Erros config) {
+        this.janelaNanos = TimeUnit.SECONDS.toNanos(config.getJanelaDeduplicacaoSegundos());
+        this.maxFrames = Math.max(0, config.getMaxFrames());
+        this.capacidade = Math.max(1, config.getMaxFingerprints());
+    }
+
+    /**
+     * Registra uma ocorrência do erro.
+     *
+     * @param resumo consumidor das repetições pendentes de entradas removidas durante o registro: as
+     *               vencidas, quando o armazenamento está cheio, e a da própria repetição, se a entrada
+     *               tiver sido removida concorrentemente depois de contada.
+     * @return {@link #REPETIDA} se o erro já ocorreu dentro da janela corrente; caso contrário, a
+     * quantidade de repetições da janela anterior que ainda não foi informada (normalmente zero).
+     */
+    long registrar(LogPlan plan, Throwable throwable, Consumer<Summary> resumo) {
+        return registrar(plan, throwable, System.nanoTime(), resumo);
+    }
+
+    long registrar(LogPlan plan, Throwable throwable, long now, Consumer<Summary> resumo) {
+        long key = fingerprint(plan.methodId(), throwable);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= capacidade) {
+                removeExpired(now, resumo);
+                if (entries.size() >= capacidade) {
+                    return 0;
+                }
+            }
+            Entry created = new Entry(plan.methodId(), throwable.getClass().getName(), throwable.getMessage(),
+                    new AtomicLong(now), new AtomicLong());
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                return 0;
+            }
+        }
+        long start = entry.windowStart().get();
+        if (now - start >= janelaNanos && entry.windowStart().compareAndSet(start, now)) {
+            return entry.repeticoes().getAndSet(0);
+        }
+        entry.repeticoes().incrementAndGet();
+        if (entries.get(key) != entry) {
+            // A entrada foi removida por removeExpired, que pode ter zerado a contagem antes do incremento.
+            long repeticoes = entry.repeticoes().getAndSet(0);
+            if (repeticoes > 0) {
+                resumo.accept(new Summary(key, entry, repeticoes));
+            }
+        }
+        return REPETIDA;
+    }
+
+    /**
+     * Remove as entradas cuja janela já venceu, entregando ao consumidor as que tinham repetições
+     * ainda não informadas (com a contagem zerada no registro entregue).
+     */
+    void removeExpired(long now, Consumer<Summary> resumo) {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            if (now - entry.windowStart().get() < janelaNanos) {
+                continue;
+            }
+            iterator.remove();
+            long repeticoes = entry.repeticoes().getAndSet(0);
+            if (repeticoes > 0) {
+                resumo.accept(new Summary(mapEntry.getKey(), entry, repeticoes));
+            }
+        }
+    }
+
+    long janelaSegundos() {
+        return TimeUnit.NANOSECONDS.toSeconds(janelaNanos);
+    }
+
+    /**
+     * Repetições de um erro informadas no resumo.
+     */
+    record Summary(long fingerprint, Entry entry, long repeticoes) {}
+
+    long fingerprint(String methodId, Throwable throwable) {
+        long hash = mix(0x9E3779B97F4A7C15L, methodId.hashCode());
+        hash = mix(hash, throwable.getClass().getName().hashCode());
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        int frames = stackTrace == null ? 0 : Math.min(maxFrames, stackTrace.length);
+        for (int i = 0; i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        long mixed = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+        return mixed ^ (mixed >>> 31);
+    }
+}
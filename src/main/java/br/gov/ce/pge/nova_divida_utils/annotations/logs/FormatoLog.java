@@ -0,0 +1,20 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Formato de saída dos eventos gerados por {@link LogAutomatico}.
+ */
+public enum FormatoLog {
+
+    /** Usa o formato configurado em {@code nova-divida.log-automatico.formato}. */
+    PADRAO,
+
+    /** Bloco de texto indentado, em várias linhas. */
+    TEXTO,
+
+    /**
+     * Um objeto JSON compacto, em uma única linha, por evento. Os campos são estáveis:
+     * {@code description}, {@code class}, {@code method}, {@code moment}, {@code params},
+     * {@code return}, {@code durationMs} e {@code error}.
+     */
+    JSON
+}
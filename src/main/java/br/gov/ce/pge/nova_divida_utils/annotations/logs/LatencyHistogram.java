@@ -0,0 +1,92 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histograma de latências sem locks, no estilo do HdrHistogram.
+ * <p>
+ * Os valores (em nanossegundos) são agrupados em faixas log-lineares: cada potência de dois é
+ * dividida em {@value #SUB_BUCKETS} sub-faixas iguais, o que mantém o erro relativo abaixo de ~3%
+ * em toda a escala. Registrar um valor custa um cálculo de índice com operações de bits e um
+ * incremento atômico; a leitura dos percentis percorre uma cópia dos contadores.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Maior expoente representado (2^40 ns, ~18 minutos). Valores maiores caem na última faixa. */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        max.accumulate(value);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Maior valor que cai na faixa do índice informado.
+     */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Calcula os percentis a partir de uma cópia dos contadores.
+     */
+    LatencySummary summary() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long maxNanos = max.get();
+        return new LatencySummary(total,
+                toMillis(Math.min(percentile(snapshot, total, 50.0), maxNanos)),
+                toMillis(Math.min(percentile(snapshot, total, 95.0), maxNanos)),
+                toMillis(Math.min(percentile(snapshot, total, 99.0), maxNanos)),
+                toMillis(maxNanos));
+    }
+
+    private static long percentile(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return highestValueAt(i);
+            }
+        }
+        return highestValueAt(snapshot.length - 1);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
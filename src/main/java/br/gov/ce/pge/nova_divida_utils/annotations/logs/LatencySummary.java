@@ -0,0 +1,22 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.util.Locale;
+
+/**
+ * Percentis de latência de um método anotado com {@link LogAutomatico}, acumulados desde o início
+ * da aplicação. Os valores são em milissegundos e têm erro relativo de até ~3%.
+ *
+ * @param quantidade quantidade de chamadas registradas.
+ * @param p50Ms      mediana.
+ * @param p95Ms      percentil 95.
+ * @param p99Ms      percentil 99.
+ * @param maxMs      maior latência observada.
+ */
+public record LatencySummary(long quantidade, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "n=%d p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms",
+                quantidade, p50Ms, p95Ms, p99Ms, maxMs);
+    }
+}
@@ -0,0 +1,225 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.TurboFilterList;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Despacha os eventos de {@link LogAutomatico} para threads de segundo plano.
+ * <p>
+ * A thread da chamada apenas insere o {@link LogEvent} no {@link LogRingBuffer}; os workers
+ * formatam e emitem o evento preservando o horário, o nome da thread e o MDC originais quando
+ * o backend é o logback. Nesse caso os turbo filters do logback são consultados antes da emissão, como
+ * no modo síncrono, com o MDC original instalado na thread do worker durante a consulta.
+ */
+final class LogAsyncDispatcher implements AutoCloseable {
+
+    private static final String FQCN = LogAutomaticoImpl.class.getName();
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final Logger logger;
+    private final LogRingBuffer<LogEvent> buffer;
+    private final LogAutomaticoProperties.PoliticaOverflow politica;
+    private final int taxaAmostragem;
+    private final int limiteAmostragem;
+    private final Thread[] workers;
+
+    private final LongAdder enfileirados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder descartadosAmostragem = new LongAdder();
+    private final AtomicLong contadorAmostragem = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    LogAsyncDispatcher(Logger logger, LogAutomaticoProperties.Assincrono config) {
+        this.logger = logger;
+        this.buffer = new LogRingBuffer<>(config.getCapacidade());
+        this.politica = config.getPoliticaOverflow();
+        this.taxaAmostragem = Math.max(1, config.getTaxaAmostragem());
+        this.limiteAmostragem = (int) (buffer.capacity() * Math.min(1.0, Math.max(0.0, config.getLimiteAmostragem())));
+        this.workers = new Thread[Math.max(1, config.getWorkers())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::drain, "log-automatico-async-" + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    void dispatch(LogEvent event) {
+        if (!running) {
+            emit(event);
+            return;
+        }
+        if (politica == LogAutomaticoProperties.PoliticaOverflow.AMOSTRAR
+                && buffer.size() >= limiteAmostragem
+                && contadorAmostragem.getAndIncrement() % taxaAmostragem != 0) {
+            descartadosAmostragem.increment();
+            return;
+        }
+        if (buffer.offer(event)) {
+            enfileirados.increment();
+            if (!running) {
+                // close() pode ter esvaziado o buffer antes desta inserção.
+                drainRemaining();
+            }
+            return;
+        }
+        if (politica == LogAutomaticoProperties.PoliticaOverflow.BLOQUEAR) {
+            block(event);
+            return;
+        }
+        descartados.increment();
+    }
+
+    private void block(LogEvent event) {
+        while (!buffer.offer(event)) {
+            if (!running) {
+                emit(event);
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+        }
+        enfileirados.increment();
+        if (!running) {
+            drainRemaining();
+        }
+    }
+
+    private void drain() {
+        long idleNanos = 0;
+        while (running || buffer.size() > 0) {
+            LogEvent event = buffer.poll();
+            if (event == null) {
+                idleNanos = idleNanos == 0 ? 1_000 : Math.min(MAX_IDLE_NANOS, idleNanos << 1);
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            idleNanos = 0;
+            emitSafely(event);
+        }
+    }
+
+    /**
+     * Emite na thread atual o que ainda estiver no buffer após o fechamento.
+     */
+    private void drainRemaining() {
+        LogEvent event;
+        while ((event = buffer.poll()) != null) {
+            emitSafely(event);
+        }
+    }
+
+    private void emitSafely(LogEvent event) {
+        try {
+            emit(event);
+        } catch (RuntimeException e) {
+            descartados.increment();
+        }
+    }
+
+    private void emit(LogEvent event) {
+        boolean erro = LogPlan.ERRO.equals(event.moment());
+        LogPlan plan = event.plan();
+        String pattern;
+        Object[] arguments;
+        if (plan.json()) {
+            pattern = LogJsonEncoder.encode(plan, event.moment(), event.arguments(), event.durationNanos());
+            arguments = null;
+        } else {
+            pattern = plan.pattern(event.moment());
+            arguments = event.arguments();
+        }
+        if (logger instanceof ch.qos.logback.classic.Logger logbackLogger) {
+            Level level = erro ? Level.ERROR : Level.INFO;
+            if (!isEnabled(logbackLogger, level, pattern, arguments, event)) {
+                return;
+            }
+            LoggingEvent loggingEvent = new LoggingEvent(FQCN, logbackLogger, level,
+                    pattern, event.throwable(), arguments);
+            loggingEvent.setTimeStamp(event.timestamp());
+            loggingEvent.setThreadName(event.threadName());
+            loggingEvent.setMDCPropertyMap(event.mdc() != null ? event.mdc() : Collections.emptyMap());
+            logbackLogger.callAppenders(loggingEvent);
+            return;
+        }
+        if (erro && arguments == null) {
+            logger.error(pattern, event.throwable());
+        } else if (erro) {
+            Object[] withThrowable = new Object[arguments.length + 1];
+            System.arraycopy(arguments, 0, withThrowable, 0, arguments.length);
+            withThrowable[arguments.length] = event.throwable();
+            logger.error(pattern, withThrowable);
+        } else {
+            logger.info(pattern, arguments);
+        }
+    }
+
+    /**
+     * Mesma decisão de {@code Logger.filterAndLog} do logback: a resposta dos turbo filters prevalece e,
+     * se for neutra, vale o nível efetivo do logger.
+     */
+    private static boolean isEnabled(ch.qos.logback.classic.Logger logbackLogger, Level level, String pattern,
+                                     Object[] arguments, LogEvent event) {
+        TurboFilterList turboFilters = logbackLogger.getLoggerContext().getTurboFilterList();
+        FilterReply decision = FilterReply.NEUTRAL;
+        if (!turboFilters.isEmpty()) {
+            // Após o fechamento o evento é emitido na própria thread da chamada, cujo MDC é restaurado.
+            Map<String, String> anterior = MDC.getCopyOfContextMap();
+            setMdc(event.mdc());
+            try {
+                decision = turboFilters.getTurboFilterChainDecision(null, logbackLogger, level, pattern, arguments,
+                        event.throwable());
+            } finally {
+                setMdc(anterior);
+            }
+        }
+        if (decision == FilterReply.NEUTRAL) {
+            return level.isGreaterOrEqual(logbackLogger.getEffectiveLevel());
+        }
+        return decision == FilterReply.ACCEPT;
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+
+    LogAsyncStats stats() {
+        return new LogAsyncStats(true, buffer.capacity(), buffer.size(),
+                enfileirados.sum(), descartados.sum(), descartadosAmostragem.sum());
+    }
+
+    /**
+     * Interrompe a aceitação de novos eventos no buffer, aguarda os workers esvaziarem o que já
+     * foi enfileirado e emite na thread da chamada o que for inserido enquanto eles encerram.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        drainRemaining();
+    }
+}
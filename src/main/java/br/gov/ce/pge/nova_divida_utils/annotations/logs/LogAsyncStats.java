@@ -0,0 +1,25 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Estatísticas do modo assíncrono de {@link LogAutomatico}, úteis para dimensionar o buffer.
+ *
+ * @param habilitado            se o modo assíncrono está ativo.
+ * @param capacidade            capacidade do buffer circular.
+ * @param profundidadeFila      quantidade de eventos aguardando emissão no momento da leitura.
+ * @param enfileirados          total de eventos aceitos no buffer.
+ * @param descartados           total de eventos descartados por buffer cheio.
+ * @param descartadosAmostragem total de eventos descartados pela política de amostragem.
+ */
+public record LogAsyncStats(
+        boolean habilitado,
+        int capacidade,
+        int profundidadeFila,
+        long enfileirados,
+        long descartados,
+        long descartadosAmostragem
+) {
+
+    static LogAsyncStats desabilitado() {
+        return new LogAsyncStats(false, 0, 0, 0, 0, 0);
+    }
+}
@@ -53,4 +53,34 @@ public @interface LogAutomatico {
      */
     boolean gravarSaidaMetodo() default true;
 
+    /**
+     * Define o formato dos logs gerados para o método.
+     * <p>
+     * Com {@link FormatoLog#PADRAO}, vale o formato configurado na propriedade
+     * {@code nova-divida.log-automatico.formato}.
+     *
+     * @return O formato do log. O padrão é {@link FormatoLog#PADRAO}.
+     */
+    FormatoLog formato() default FormatoLog.PADRAO;
+
+    /**
+     * Define a fração das chamadas cujos logs de ENTRADA e SAÍDA serão gerados, entre {@code 0} e {@code 1}.
+     * <p>
+     * A decisão é tomada por chamada, portanto a ENTRADA e a SAÍDA de uma mesma chamada são sempre
+     * registradas (ou suprimidas) juntas. Logs de ERRO são sempre gerados, independentemente da amostragem.
+     *
+     * @return A taxa de amostragem. O padrão é {@code 1.0} (todas as chamadas).
+     */
+    double taxaAmostragem() default 1.0;
+
+    /**
+     * Define o número máximo de chamadas por segundo cujos logs de ENTRADA e SAÍDA serão gerados.
+     * <p>
+     * Chamadas acima do limite têm seus logs suprimidos; a quantidade suprimida é informada
+     * periodicamente em uma linha de resumo. Logs de ERRO não são limitados.
+     *
+     * @return O limite de chamadas registradas por segundo. O padrão é {@code 0} (sem limite).
+     */
+    int maxEventosPorSegundo() default 0;
+
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ativa {@link LogAutomatico} com weaving em tempo de compilação
+ * ({@code nova-divida.log-automatico.weaving=compilacao}).
+ * <p>
+ * Nesse modo o {@link LogAutomaticoImpl} não é registrado como aspecto do Spring AOP, portanto nenhum
+ * proxy é criado: o compilador do AspectJ insere a chamada ao aspecto diretamente nos métodos
+ * anotados (inclusive em auto-invocações). Este componente cria a instância configurada com as
+ * {@link LogAutomaticoProperties} e a instala como destino da instância criada pelo AspectJ.
+ * <p>
+ * O projeto consumidor deve compilar com o {@code aspectj-maven-plugin}, declarando esta biblioteca
+ * em {@code <aspectLibraries>}; a biblioteca deve ter sido empacotada com o perfil
+ * {@code aspectj-ctw}, que prepara o aspecto para o ajc. O formato dos logs é o mesmo do modo proxy.
+ */
+@Component
+@ConditionalOnProperty(prefix = "nova-divida.log-automatico", name = "weaving", havingValue = "compilacao")
+public class LogAutomaticoCompileTimeWeaving implements DisposableBean {
+
+    private final LogAutomaticoImpl aspecto;
+
+    public LogAutomaticoCompileTimeWeaving(LogAutomaticoProperties properties) {
+        this.aspecto = new LogAutomaticoImpl(properties);
+        LogAutomaticoImpl.ativar(aspecto);
+    }
+
+    /**
+     * Instância que gera os logs, para consulta das estatísticas de latência e do modo assíncrono.
+     *
+     * @return o aspecto configurado.
+     */
+    public LogAutomaticoImpl getAspecto() {
+        return aspecto;
+    }
+
+    @Override
+    public void destroy() {
+        LogAutomaticoImpl.ativar(null);
+        aspecto.destroy();
+    }
+}
@@ -1,197 +1,369 @@
 package br.gov.ce.pge.nova_divida_utils.annotations.logs;
 
-import br.gov.ce.pge.nova_divida_utils.utils.StringTools;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static br.gov.ce.pge.nova_divida_utils.annotations.logs.LogPlan.ENTRADA;
+import static br.gov.ce.pge.nova_divida_utils.annotations.logs.LogPlan.ERRO;
+import static br.gov.ce.pge.nova_divida_utils.annotations.logs.LogPlan.SAIDA;
 
 @Slf4j
 @Aspect
 @Component
-public class LogAutomaticoImpl {
+@ConditionalOnProperty(prefix = "nova-divida.log-automatico", name = "weaving", havingValue = "proxy", matchIfMissing = true)
+public class LogAutomaticoImpl implements DisposableBean {
 
-    private static final String ENTRADA = "ENTRADA";
-    private static final String SAIDA = "SAIDA";
-    private static final String ERRO = "ERRO";
+    /**
+     * Instância configurada pelo Spring no modo de weaving em compilação. A instância criada pelo
+     * AspectJ (sem acesso às propriedades) delega para ela.
+     */
+    private static volatile LogAutomaticoImpl instanciaAtiva;
 
-    private record LogMetadata(
-            String returnType,
-            String declaringType,
-            String methodName,
-            String parameterTypes,
-            String description,
-            LogAutomatico annotation
-    ) {
-        public static LogMetadata from(ProceedingJoinPoint joinPoint) {
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    /** Planos de log já resolvidos, um por método anotado. */
+    private final Map<Method, LogPlan> plans = new ConcurrentHashMap<>();
 
-            String returnType = signature.getReturnType().getName();
-            String declaringType = signature.getDeclaringTypeName();
-            String methodName = signature.getName();
+    /** Formato usado pelos métodos cuja anotação não define um formato próprio. */
+    private final FormatoLog formatoPadrao;
 
-            String parameterTypes = Arrays.stream(signature.getParameterTypes())
-                    .map(Class::getName)
-                    .collect(Collectors.joining(", "));
+    /** Renderizador dos argumentos e valores de retorno. */
+    private final LogRenderer renderer;
 
-            Method method = signature.getMethod();
-            LogAutomatico annotation = method.getAnnotation(LogAutomatico.class);
-            String description = StringTools.normalize(annotation.descricao());
+    /** Despachante do modo assíncrono, ou {@code null} quando os logs são emitidos na própria thread. */
+    private final LogAsyncDispatcher asyncDispatcher;
 
-            return new LogMetadata(returnType, declaringType, methodName, parameterTypes, description, annotation);
-        }
+    /** Se a duração das chamadas deve ser registrada nos histogramas de latência. */
+    private final boolean medirLatencia;
+
+    /** Se os percentis de latência devem ser emitidos na linha de resumo periódica. */
+    private final boolean resumoLatencia;
+
+    /** Intervalo entre as linhas de resumo periódicas. */
+    private final int intervaloResumoSegundos;
+
+    /** Deduplicação de erros repetidos, ou {@code null} quando desligada. */
+    private final ErrorFingerprints fingerprints;
+
+    /** Agendador das linhas de resumo, criado apenas quando algum método precisa dele. */
+    private volatile ScheduledExecutorService agendadorResumo;
+
+    public LogAutomaticoImpl() {
+        this(new LogAutomaticoProperties());
     }
 
-    private record LoggableArgument(String name, String type, Object value) {}
+    @Autowired
+    public LogAutomaticoImpl(LogAutomaticoProperties properties) {
+        this.formatoPadrao = properties.getFormato();
+        this.renderer = new LogRenderer(properties.getRenderizacao());
+        this.intervaloResumoSegundos = Math.max(1, properties.getIntervaloResumoSegundos());
+        this.medirLatencia = properties.getLatencia().isHabilitada();
+        this.resumoLatencia = medirLatencia && properties.getLatencia().isResumoHabilitado();
+        this.fingerprints = properties.getErros().getJanelaDeduplicacaoSegundos() > 0
+                ? new ErrorFingerprints(properties.getErros()) : null;
+        LogAutomaticoProperties.Assincrono assincrono = properties.getAssincrono();
+        this.asyncDispatcher = assincrono.isHabilitado() ? new LogAsyncDispatcher(log, assincrono) : null;
+    }
 
-    @Around("@annotation(LogAutomatico)")
+    @Around("execution(* *(..)) && @annotation(br.gov.ce.pge.nova_divida_utils.annotations.logs.LogAutomatico)")
     public Object logPadrao(ProceedingJoinPoint joinPoint) throws Throwable {
-        LogMetadata metadata = LogMetadata.from(joinPoint);
+        LogAutomaticoImpl ativa = instanciaAtiva;
+        if (ativa != null && ativa != this) {
+            return ativa.logPadrao(joinPoint);
+        }
+        if (!log.isInfoEnabled()) {
+            return proceedSemInfo(joinPoint);
+        }
+        LogPlan plan = getPlan(joinPoint);
+        boolean registrar = plan.sampler() == null || plan.sampler().tryAcquire();
+        long start = System.nanoTime();
         try {
-            logEntrada(joinPoint, metadata);
+            if (registrar) {
+                logEntrada(joinPoint, plan);
+            }
             Object result = joinPoint.proceed();
-            logSaida(metadata, result);
+            if (plan.asyncReturn() && result != null) {
+                return completeAsync(plan, result, start, registrar);
+            }
+            long durationNanos = System.nanoTime() - start;
+            recordLatency(plan.latenciaSucesso(), durationNanos);
+            if (registrar) {
+                logSaida(plan, result, durationNanos);
+            }
             return result;
         } catch (Throwable throwable) {
-            logErro(metadata, throwable);
+            long durationNanos = System.nanoTime() - start;
+            recordLatency(plan.latenciaErro(), durationNanos);
+            if (log.isErrorEnabled()) {
+                logErro(plan, throwable, durationNanos);
+            }
             throw throwable;
         }
     }
 
-    private void logErro(LogMetadata metadata, Throwable throwable) {
-        StringBuilder format = new StringBuilder();
-        buildLogHeader(format, ERRO, metadata);
-
-        String errorClass = throwable.getClass().getSimpleName();
-        StackTraceElement[] stackTrace = throwable.getStackTrace();
-        String origin = "(Origem indisponível)";
-        if (stackTrace != null && stackTrace.length > 0) {
-            origin = stackTrace[0].toString();
+    /**
+     * Caminho com o nível INFO desligado: ENTRADA e SAIDA não são geradas, então nenhum argumento é
+     * preparado e a amostragem não é consultada. A chamada só é cronometrada para a latência e para o
+     * log de ERRO, e o plano do método só é obtido após a execução.
+     */
+    private Object proceedSemInfo(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!medirLatencia && !log.isErrorEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            LogPlan plan = getPlan(joinPoint);
+            if (plan.asyncReturn() && result != null) {
+                return completeAsync(plan, result, start, false);
+            }
+            recordLatency(plan.latenciaSucesso(), System.nanoTime() - start);
+            return result;
+        } catch (Throwable throwable) {
+            long durationNanos = System.nanoTime() - start;
+            LogPlan plan = getPlan(joinPoint);
+            recordLatency(plan.latenciaErro(), durationNanos);
+            if (log.isErrorEnabled()) {
+                logErro(plan, throwable, durationNanos);
+            }
+            throw throwable;
         }
-
-        format.append("\n\t\t - Causa: ").append(errorClass);
-        format.append("\n\t\t - Mensagem: '").append(throwable.getMessage()).append("'");
-        format.append("\n\t\t - Origem: ").append(origin);
-        format.append("\n");
-
-        log.error(format.toString(), throwable);
     }
 
-    private void logEntrada(ProceedingJoinPoint joinPoint, LogMetadata metadata) {
-        LoggableArgument[] arguments = getArgumentos(joinPoint, metadata.annotation());
-        gerarLog(metadata, ENTRADA, arguments);
+    /**
+     * Adia SAIDA/ERRO e o registro da latência para a conclusão de um retorno assíncrono, sem
+     * bloquear nenhuma thread. Um {@link CompletionStage} é devolvido como está, com um callback
+     * anexado; {@code Mono}/{@code Flux} são decorados, pois só executam quando assinados.
+     */
+    private Object completeAsync(LogPlan plan, Object result, long start, boolean registrar) {
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> onAsyncComplete(plan, value, error, System.nanoTime() - start, registrar));
+            return result;
+        }
+        return ReactorSupport.decorate(result, (value, error, durationNanos) -> onAsyncComplete(plan, value, error, durationNanos, registrar));
     }
 
-    private void logSaida(LogMetadata metadata, Object result) {
-        LogAutomatico annotation = metadata.annotation();
-        if (!annotation.gravarSaidaMetodo()) { // Corrected method name
+    private void onAsyncComplete(LogPlan plan, Object value, Throwable error, long durationNanos, boolean registrar) {
+        if (error == null) {
+            recordLatency(plan.latenciaSucesso(), durationNanos);
+            if (registrar) {
+                logSaida(plan, value, durationNanos);
+            }
             return;
         }
-        Object[] resultToLog = getResultToLog(annotation, result);
-        gerarLog(metadata, SAIDA, resultToLog);
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        recordLatency(plan.latenciaErro(), durationNanos);
+        if (log.isErrorEnabled()) {
+            logErro(plan, cause, durationNanos);
+        }
     }
 
-    private Object[] getResultToLog(LogAutomatico annotation, Object result) {
-        if (annotation.gravarRetornoMetodo()) {
-            return new Object[]{result};
+    private static void recordLatency(LatencyHistogram histogram, long durationNanos) {
+        if (histogram != null) {
+            histogram.record(durationNanos);
         }
-        return new Object[0];
     }
 
-    private LoggableArgument[] getArgumentos(ProceedingJoinPoint joinPoint, LogAutomatico annotation) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        String[] parameterNames = signature.getParameterNames();
-        Object[] methodArguments = joinPoint.getArgs();
+    /**
+     * Retorna as estatísticas do modo assíncrono (profundidade da fila e contadores de descarte).
+     *
+     * @return as estatísticas, ou um registro com {@code habilitado = false} se o modo estiver desligado.
+     */
+    public LogAsyncStats getEstatisticasAssincronas() {
+        return asyncDispatcher != null ? asyncDispatcher.stats() : LogAsyncStats.desabilitado();
+    }
 
-        if (parameterNames.length == 0) {
-            return new LoggableArgument[0];
+    /**
+     * Retorna os percentis de latência (p50/p95/p99/max) de cada método anotado já chamado,
+     * separados entre chamadas com sucesso e com erro.
+     *
+     * @return as estatísticas por método, ou uma lista vazia se a medição estiver desligada.
+     */
+    public List<LogLatencyStats> getEstatisticasLatencia() {
+        List<LogLatencyStats> stats = new ArrayList<>();
+        if (!medirLatencia) {
+            return stats;
         }
+        for (LogPlan plan : plans.values()) {
+            stats.add(new LogLatencyStats(plan.methodId(), plan.latenciaSucesso().summary(), plan.latenciaErro().summary()));
+        }
+        return stats;
+    }
 
-        List<String> argumentsToLog = Arrays.asList(annotation.argumentosEntrada());
-        boolean logAll = argumentsToLog.isEmpty();
-
-        return IntStream.range(0, parameterNames.length)
-                .filter(index -> logAll || argumentsToLog.contains(parameterNames[index]))
-                .mapToObj(index -> {
-                    Object argValue = methodArguments[index];
-                    String argName = parameterNames[index];
-                    String argType = (argValue != null) ? argValue.getClass().getSimpleName() : "null";
-                    return new LoggableArgument(argName, argType, argValue);
-                })
-                .toArray(LoggableArgument[]::new);
+    /**
+     * Define a instância que efetivamente gera os logs no modo de weaving em compilação.
+     *
+     * @param aspecto instância configurada, ou {@code null} para voltar a usar a instância do AspectJ.
+     */
+    static void ativar(LogAutomaticoImpl aspecto) {
+        instanciaAtiva = aspecto;
     }
 
-    private void buildLogHeader(StringBuilder builder, String moment, LogMetadata metadata) {
-        builder.append("\n\t@LogAutomatico (").append(moment).append(")");
-        builder.append("\n\t\t - Descricao: ").append(metadata.description());
-        builder.append("\n\t\t - Assinatura:");
-        builder.append("\n\t\t\t - Retorno: ").append(metadata.returnType());
-        builder.append("\n\t\t\t - Classe: ").append(metadata.declaringType());
-        builder.append("\n\t\t\t - Metodo: ").append(metadata.methodName()).append("(").append(metadata.parameterTypes()).append(")");
+    @Override
+    public void destroy() {
+        synchronized (this) {
+            if (agendadorResumo != null) {
+                agendadorResumo.shutdownNow();
+            }
+        }
+        if (asyncDispatcher != null) {
+            asyncDispatcher.close();
+        }
     }
 
-    private void gerarLog(LogMetadata metadata, String moment, Object[] details) {
-        StringBuilder logFormat = new StringBuilder();
-        buildLogHeader(logFormat, moment, metadata);
+    /**
+     * Emite as linhas de resumo periódicas: a quantidade de chamadas cujos logs foram suprimidos
+     * pela amostragem ou pelo limite de taxa de cada método e, se habilitado, os percentis de latência.
+     */
+    void emitirResumo() {
+        for (LogPlan plan : plans.values()) {
+            LogSampler sampler = plan.sampler();
+            long suprimidos = sampler != null ? sampler.drainSuprimidos() : 0;
+            if (suprimidos > 0) {
+                log.info("@LogAutomatico (RESUMO) {}: {} chamada(s) com logs suprimidos por amostragem/limite nos ultimos {}s",
+                        plan.methodId(), suprimidos, intervaloResumoSegundos);
+            }
+            if (resumoLatencia) {
+                log.info("@LogAutomatico (LATENCIA) {}: sucesso [{}] erro [{}]",
+                        plan.methodId(), plan.latenciaSucesso().summary(), plan.latenciaErro().summary());
+            }
+        }
+        if (fingerprints != null) {
+            fingerprints.removeExpired(System.nanoTime(), this::logRepeticoes);
+        }
+    }
 
-        List<Object> logArguments = new ArrayList<>();
-        appendDetailsToLog(logFormat, logArguments, details, moment);
+    private void logRepeticoes(ErrorFingerprints.Summary summary) {
+        logRepeticoes(summary.entry().methodId(), summary.entry().errorClass(), summary.entry().message(), summary.repeticoes());
+    }
 
-        logFormat.append("\n");
-        log.info(logFormat.toString(), logArguments.toArray());
+    private void logRepeticoes(String methodId, String errorClass, String message, long repeticoes) {
+        log.error("@LogAutomatico (ERRO REPETIDO) {}: {}: '{}' repetido {}x sem pilha na janela de {}s",
+                methodId, errorClass, message, repeticoes, fingerprints.janelaSegundos());
     }
 
-    private void appendDetailsToLog(StringBuilder logFormat, List<Object> logArguments, Object[] details, String moment) {
-        if (ENTRADA.equals(moment)) {
-            appendEntryDetails(logFormat, details);
+    private synchronized void iniciarResumo() {
+        if (agendadorResumo != null) {
             return;
         }
-        if (details != null && details.length > 0) {
-            appendExitDetails(logFormat, logArguments, details);
+        agendadorResumo = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-automatico-resumo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendadorResumo.scheduleAtFixedRate(() -> {
+            try {
+                emitirResumo();
+            } catch (RuntimeException e) {
+                log.warn("@LogAutomatico: falha ao emitir o resumo periodico", e);
+            }
+        }, intervaloResumoSegundos, intervaloResumoSegundos, TimeUnit.SECONDS);
+    }
+
+    private LogPlan getPlan(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        LogPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, key -> LogPlan.from(signature, formatoPadrao, medirLatencia));
+            if (plan.sampler() != null || resumoLatencia) {
+                iniciarResumo();
+            }
         }
+        return plan;
     }
 
-    private void appendEntryDetails(StringBuilder logFormat, Object[] details) {
-        logFormat.append("\n\t\t - Parametros:");
-        appendAllParameterDetails(logFormat, details);
+    private void logErro(LogPlan plan, Throwable throwable, long durationNanos) {
+        if (fingerprints != null) {
+            if (agendadorResumo == null) {
+                iniciarResumo();
+            }
+            long repeticoesAnteriores = fingerprints.registrar(plan, throwable, this::logRepeticoes);
+            if (repeticoesAnteriores == ErrorFingerprints.REPETIDA) {
+                return;
+            }
+            if (repeticoesAnteriores > 0) {
+                logRepeticoes(plan.methodId(), throwable.getClass().getName(), throwable.getMessage(), repeticoesAnteriores);
+            }
+        }
+        String errorClass = throwable.getClass().getSimpleName();
+        Object[] details = {errorClass, throwable.getMessage(), new LogOrigin(throwable)};
+        if (asyncDispatcher != null) {
+            dispatch(plan, ERRO, details, throwable, durationNanos);
+        } else if (plan.json()) {
+            log.error(LogJsonEncoder.encode(plan, ERRO, details, durationNanos), throwable);
+        } else {
+            log.error(plan.erroPattern(), details[0], details[1], details[2], throwable);
+        }
+    }
+
+    private void logEntrada(ProceedingJoinPoint joinPoint, LogPlan plan) {
+        gerarLog(plan, ENTRADA, getArgumentos(joinPoint.getArgs(), plan), 0);
     }
 
-    private void appendAllParameterDetails(StringBuilder logFormat, Object[] details) {
-        if (details.length == 0) {
-            logFormat.append(" (vazio)");
+    private void logSaida(LogPlan plan, Object result, long durationNanos) {
+        if (!plan.gravarSaidaMetodo()) {
             return;
         }
-        for (int i = 0; i < details.length; i++) {
-            LoggableArgument detail = (LoggableArgument) details[i];
-            String formattedValue = formatObjectValue(detail.type(), detail.value());
-            logFormat.append("\n\t\t\t").append(i + 1).append(". ").append(detail.name()).append(" = ").append(formattedValue);
+        gerarLog(plan, SAIDA, getResultToLog(plan, result), durationNanos);
+    }
+
+    private Object[] getResultToLog(LogPlan plan, Object result) {
+        if (plan.gravarRetornoMetodo()) {
+            return new Object[]{new LogValue(result, renderer)};
         }
+        return new Object[0];
     }
 
-    private void appendExitDetails(StringBuilder logFormat, List<Object> logArguments, Object[] details) {
-        logFormat.append("\n\t\t - Retorno: {}");
-        Object returnValue = details[0];
-        String className = (returnValue != null) ? returnValue.getClass().getSimpleName() : "void";
-        logArguments.add(formatObjectValue(className, returnValue));
+    private Object[] getArgumentos(Object[] methodArguments, LogPlan plan) {
+        int[] indexes = plan.parameterIndexes();
+        Object[] arguments = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            arguments[i] = new LogValue(methodArguments[indexes[i]], renderer);
+        }
+        return arguments;
     }
 
-    private String formatObjectValue(String className, Object value) {
-        if (value == null) {
-            return "(null)";
+    private void gerarLog(LogPlan plan, String moment, Object[] details, long durationNanos) {
+        if (asyncDispatcher != null) {
+            dispatch(plan, moment, details, null, durationNanos);
+        } else if (plan.json()) {
+            log.info(LogJsonEncoder.encode(plan, moment, details, durationNanos));
+        } else {
+            log.info(plan.pattern(moment), details);
         }
-        String valueAsString = value.toString();
-        if (valueAsString.startsWith(className + "(")) {
-            return valueAsString;
+    }
+
+    /**
+     * Captura o evento para emissão assíncrona. Os argumentos são renderizados aqui, na thread da
+     * chamada, para que o log reflita o estado dos objetos no momento da chamada. Valores nulos são
+     * mantidos como estão, para que cada formato os represente à sua maneira.
+     */
+    private void dispatch(LogPlan plan, String moment, Object[] details, Throwable throwable, long durationNanos) {
+        Object[] snapshot = new Object[details.length];
+        for (int i = 0; i < details.length; i++) {
+            Object detail = details[i];
+            boolean nullValue = detail == null || (detail instanceof LogValue logValue && logValue.value() == null);
+            snapshot[i] = nullValue ? detail : detail.toString();
         }
-        return className + "(" + valueAsString + ")";
+        asyncDispatcher.dispatch(new LogEvent(plan, moment, snapshot, throwable, durationNanos, System.currentTimeMillis(),
+                Thread.currentThread().getName(), MDC.getCopyOfContextMap()));
     }
-}
\ No newline at end of file
+}
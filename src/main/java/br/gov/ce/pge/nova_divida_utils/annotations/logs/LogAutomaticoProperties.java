@@ -0,0 +1,169 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configurações do aspecto de {@link LogAutomatico}, lidas das propriedades com o prefixo
+ * {@code nova-divida.log-automatico}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nova-divida.log-automatico")
+public class LogAutomaticoProperties {
+
+    /**
+     * Formato usado pelos métodos cuja anotação não define um formato próprio.
+     * O padrão é {@link FormatoLog#TEXTO}.
+     */
+    private FormatoLog formato = FormatoLog.TEXTO;
+
+    /**
+     * Como o aspecto é aplicado aos métodos anotados. O padrão é {@link ModoWeaving#PROXY}.
+     */
+    private ModoWeaving weaving = ModoWeaving.PROXY;
+
+    /**
+     * Intervalo, em segundos, entre as linhas de resumo periódicas (por exemplo, a quantidade de
+     * chamadas suprimidas pela amostragem). O padrão é {@code 60}.
+     */
+    private int intervaloResumoSegundos = 60;
+
+    /** Limites de tamanho na renderização dos argumentos e valores de retorno. */
+    private final Renderizacao renderizacao = new Renderizacao();
+
+    /** Medição de latência dos métodos anotados. */
+    private final Latencia latencia = new Latencia();
+
+    /** Supressão de pilhas de erros repetidos. */
+    private final Erros erros = new Erros();
+
+    /** Configurações do modo assíncrono de emissão dos logs. */
+    private final Assincrono assincrono = new Assincrono();
+
+    /**
+     * Modo assíncrono: o aspecto apenas captura o evento em um buffer circular limitado e threads
+     * de segundo plano formatam e emitem o log, tirando do tempo de resposta a montagem das
+     * mensagens e o I/O dos appenders.
+     */
+    @Getter
+    @Setter
+    public static class Assincrono {
+
+        /** Habilita o modo assíncrono. O padrão é {@code false} (emissão na própria thread da chamada). */
+        private boolean habilitado = false;
+
+        /** Capacidade do buffer circular. Arredondada para a próxima potência de dois. */
+        private int capacidade = 8192;
+
+        /** Quantidade de threads que consomem o buffer e emitem os logs. */
+        private int workers = 1;
+
+        /** O que fazer quando o buffer estiver cheio (ou, em {@code AMOSTRAR}, quase cheio). */
+        private PoliticaOverflow politicaOverflow = PoliticaOverflow.DESCARTAR;
+
+        /**
+         * Na política {@code AMOSTRAR}, apenas 1 a cada {@code taxaAmostragem} eventos é aceito
+         * enquanto a ocupação do buffer estiver acima de {@code limiteAmostragem}.
+         */
+        private int taxaAmostragem = 10;
+
+        /** Fração de ocupação (0 a 1) a partir da qual a política {@code AMOSTRAR} passa a atuar. */
+        private double limiteAmostragem = 0.75;
+    }
+
+    /**
+     * Histogramas de latência por método, separados entre chamadas com sucesso e com erro, consultáveis
+     * por {@link LogAutomaticoImpl#getEstatisticasLatencia()}.
+     */
+    @Getter
+    @Setter
+    public static class Latencia {
+
+        /** Registra a duração de cada chamada. O padrão é {@code true}. */
+        private boolean habilitada = true;
+
+        /**
+         * Emite os percentis de cada método na linha de resumo periódica. O padrão é {@code false}.
+         */
+        private boolean resumoHabilitado = false;
+    }
+
+    /**
+     * Deduplicação dos logs de ERRO. Erros com a mesma impressão digital (classe da exceção, primeiros
+     * frames da pilha e método) só têm a pilha completa logada na primeira ocorrência de cada janela;
+     * as repetições são contadas e informadas em uma linha de resumo.
+     */
+    @Getter
+    @Setter
+    public static class Erros {
+
+        /** Duração da janela, em segundos. O padrão é {@code 0} (deduplicação desligada). */
+        private int janelaDeduplicacaoSegundos = 0;
+
+        /** Quantidade de frames do topo da pilha considerados na impressão digital. */
+        private int maxFrames = 5;
+
+        /** Quantidade máxima de impressões digitais mantidas em memória. */
+        private int maxFingerprints = 1024;
+    }
+
+    /**
+     * Limites e mascaramento aplicados ao renderizar argumentos e valores de retorno. Ao atingir qualquer limite a
+     * renderização é interrompida e um marcador de truncamento é anexado.
+     */
+    @Getter
+    @Setter
+    public static class Renderizacao {
+
+        /** Quantidade máxima de caracteres por valor renderizado. */
+        private int maxCaracteres = 4096;
+
+        /** Quantidade máxima de elementos renderizados de cada coleção ou array. */
+        private int maxElementos = 50;
+
+        /** Quantidade máxima de entradas renderizadas de cada mapa. */
+        private int maxEntradasMapa = 50;
+
+        /** Profundidade máxima de coleções, mapas e arrays aninhados. */
+        private int maxProfundidade = 3;
+
+        /** Mascara CPFs e CNPJs nos valores renderizados ({@code 123.456.789-09} vira {@code ***.456.789-**}). */
+        private boolean mascararDocumentos = true;
+
+        /**
+         * Só mascara números cujos dígitos verificadores sejam válidos. Com {@code false}, qualquer
+         * sequência no formato de CPF/CNPJ é mascarada.
+         */
+        private boolean validarDigitosDocumentos = true;
+    }
+
+    /**
+     * Forma de aplicação do aspecto de {@link LogAutomatico}.
+     */
+    public enum ModoWeaving {
+        /** Proxies do Spring AOP (CGLIB/JDK), aplicados apenas a beans do Spring. */
+        PROXY,
+        /**
+         * Weaving em tempo de compilação pelo compilador do AspectJ (ajc). O código de log é inserido
+         * diretamente nos métodos anotados, inclusive em auto-invocações, e o Spring não cria
+         * proxies para o aspecto. Ver {@link LogAutomaticoCompileTimeWeaving}.
+         */
+        COMPILACAO
+    }
+
+    /**
+     * Política aplicada quando o buffer do modo assíncrono não comporta mais eventos.
+     */
+    public enum PoliticaOverflow {
+        /** Descarta o evento e contabiliza o descarte. */
+        DESCARTAR,
+        /** Passa a aceitar apenas uma amostra dos eventos quando o buffer se aproxima do limite. */
+        AMOSTRAR,
+        /** Bloqueia a thread da chamada até haver espaço no buffer. */
+        BLOQUEAR
+    }
+}
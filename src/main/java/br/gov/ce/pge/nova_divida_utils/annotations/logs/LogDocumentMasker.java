@@ -0,0 +1,138 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import br.gov.ce.pge.nova_divida_utils.utils.CpfCnpjUtils;
+import br.gov.ce.pge.nova_divida_utils.utils.CpfCnpjValidator;
+
+/**
+ * Mascara números de CPF e CNPJ presentes nos valores renderizados, diretamente no buffer de saída.
+ * <p>
+ * O trecho é percorrido uma única vez, sem expressões regulares. Cada sequência de dígitos iniciada
+ * após um não-dígito define, pelo seu tamanho, o único gabarito possível (3 dígitos: CPF formatado;
+ * 2: CNPJ formatado; 11: CPF; 14: CNPJ), que é então conferido caractere a caractere. Em caso de
+ * casamento, os dígitos marcados com {@code *} no gabarito são sobrescritos no próprio buffer, sem
+ * alterar o tamanho do texto (e, portanto, sem afetar os limites do {@link LogRenderer}):
+ * {@code 123.456.789-09} vira {@code ***.456.789-**}.
+ * <p>
+ * Opcionalmente, o casamento só é aceito se os dígitos verificadores forem válidos segundo
+ * {@link CpfCnpjValidator}, evitando mascarar outros números longos (protocolos, timestamps etc.). Os
+ * dígitos são acumulados durante a própria conferência do gabarito, sem reler o trecho.
+ */
+final class LogDocumentMasker {
+
+    private static final char MASCARA = '*';
+
+    /** Gabaritos: {@code *} dígito mascarado, {@code #} dígito mantido, demais caracteres literais. */
+    private static final char[] CPF_FORMATADO = "***.###.###-**".toCharArray();
+    private static final char[] CNPJ_FORMATADO = "**.###.###/####-**".toCharArray();
+    private static final char[] CPF = "***######**".toCharArray();
+    private static final char[] CNPJ = "**##########**".toCharArray();
+
+    private final boolean validarDigitos;
+
+    LogDocumentMasker(boolean validarDigitos) {
+        this.validarDigitos = validarDigitos;
+    }
+
+    /**
+     * Mascara os documentos encontrados no trecho do buffer que começa em {@code from}.
+     */
+    void mask(StringBuilder target, int from) {
+        int end = target.length();
+        int i = from;
+        while (i < end) {
+            if (!isDigit(target.charAt(i))) {
+                i++;
+                continue;
+            }
+            // Primeira sequência de dígitos: define o gabarito e já acumula o número do documento.
+            long numero = 0;
+            int run = i;
+            char c;
+            while (run < end && isDigit(c = target.charAt(run))) {
+                if (run - i < CpfCnpjUtils.CNPJ_DOC_LENGTH) {
+                    numero = numero * 10 + (c - '0');
+                }
+                run++;
+            }
+            char[] template = template(run - i);
+            if (template != null) {
+                numero = matches(target, i, run, end, template, numero);
+            }
+            if (template != null && numero >= 0 && confirmed(template, numero)) {
+                apply(target, i, template);
+                i += template.length;
+            } else {
+                i = run;
+            }
+        }
+    }
+
+    private static char[] template(int digits) {
+        switch (digits) {
+            case 3:
+                return CPF_FORMATADO;
+            case 2:
+                return CNPJ_FORMATADO;
+            case CpfCnpjUtils.CPF_DOC_LENGTH:
+                return CPF;
+            case CpfCnpjUtils.CNPJ_DOC_LENGTH:
+                return CNPJ;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Confere o restante do gabarito, a partir de {@code from} (fim da primeira sequência de dígitos), e exige
+     * que o documento não seja seguido de outro dígito.
+     *
+     * @return o número do documento, com os dígitos já acumulados em {@code numero}, ou {@code -1} se o
+     * trecho não casar com o gabarito.
+     */
+    private static long matches(StringBuilder target, int start, int from, int end, char[] template, long numero) {
+        int stop = start + template.length;
+        if (stop > end || (stop < end && isDigit(target.charAt(stop)))) {
+            return -1;
+        }
+        for (int k = from; k < stop; k++) {
+            char expected = template[k - start];
+            char actual = target.charAt(k);
+            if (expected == MASCARA || expected == '#') {
+                if (!isDigit(actual)) {
+                    return -1;
+                }
+                numero = numero * 10 + (actual - '0');
+            } else if (actual != expected) {
+                return -1;
+            }
+        }
+        return numero;
+    }
+
+    /**
+     * Confere os dígitos verificadores do número acumulado, com as mesmas regras de {@link CpfCnpjValidator}.
+     */
+    private boolean confirmed(char[] template, long numero) {
+        if (!validarDigitos) {
+            return true;
+        }
+        int verificadores = (int) (numero % 100);
+        if (template == CPF || template == CPF_FORMATADO) {
+            // Cpf com todos os dígitos iguais.
+            return numero % 11_111_111_111L != 0 && CpfCnpjValidator.cpfCheckDigits(numero / 100) == verificadores;
+        }
+        return numero != 0 && CpfCnpjValidator.cnpjCheckDigits(numero / 100) == verificadores;
+    }
+
+    private static void apply(StringBuilder target, int start, char[] template) {
+        for (int j = 0; j < template.length; j++) {
+            if (template[j] == MASCARA) {
+                target.setCharAt(start + j, MASCARA);
+            }
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,21 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.util.Map;
+
+/**
+ * Evento de log capturado na thread da chamada para emissão assíncrona.
+ * <p>
+ * Guarda apenas o plano do método, o momento, a renderização já feita dos argumentos
+ * selecionados (para que mudanças posteriores nos objetos não alterem o log), a exceção
+ * em caso de ERRO e os dados de contexto da thread original.
+ */
+record LogEvent(
+        LogPlan plan,
+        String moment,
+        Object[] arguments,
+        Throwable throwable,
+        long durationNanos,
+        long timestamp,
+        String threadName,
+        Map<String, String> mdc
+) {}
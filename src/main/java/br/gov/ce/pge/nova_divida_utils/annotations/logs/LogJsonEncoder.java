@@ -0,0 +1,163 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import static br.gov.ce.pge.nova_divida_utils.annotations.logs.LogPlan.ENTRADA;
+import static br.gov.ce.pge.nova_divida_utils.annotations.logs.LogPlan.SAIDA;
+
+/**
+ * Codifica os eventos de {@link LogAutomatico} no formato {@link FormatoLog#JSON}: um objeto
+ * compacto, em uma única linha, por evento.
+ * <p>
+ * As partes fixas de cada evento (descrição, classe, método, momento e nomes dos parâmetros) são
+ * codificadas uma única vez no {@link LogPlan}. A cada chamada, os valores são escritos, já
+ * escapados, direto em um buffer reaproveitado pela thread.
+ */
+final class LogJsonEncoder {
+
+    /** Buffers maiores que este limite não são mantidos entre chamadas, para não reter memória. */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> OUTPUT = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private LogJsonEncoder() {
+        // Classe utilitária.
+    }
+
+    /**
+     * Monta o início fixo do objeto JSON de um momento, sem a chave de fechamento.
+     */
+    static String prefix(String moment, String description, String declaringType, String method) {
+        StringBuilder builder = new StringBuilder(128);
+        builder.append("{\"description\":");
+        appendString(builder, description);
+        builder.append(",\"class\":");
+        appendString(builder, declaringType);
+        builder.append(",\"method\":");
+        appendString(builder, method);
+        builder.append(",\"moment\":");
+        appendString(builder, moment);
+        return builder.toString();
+    }
+
+    /**
+     * Monta a chave JSON ({@code "nome":}) de um parâmetro.
+     */
+    static String key(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 3);
+        appendString(builder, name);
+        return builder.append(':').toString();
+    }
+
+    /**
+     * Codifica um evento.
+     *
+     * @param plan          plano do método.
+     * @param moment        ENTRADA, SAIDA ou ERRO.
+     * @param values        argumentos selecionados (ENTRADA), retorno (SAIDA) ou classe, mensagem e origem do erro (ERRO).
+     * @param durationNanos duração da chamada, ignorada na ENTRADA.
+     * @return o objeto JSON em uma linha.
+     */
+    static String encode(LogPlan plan, String moment, Object[] values, long durationNanos) {
+        StringBuilder out = OUTPUT.get();
+        out.setLength(0);
+        out.append(plan.jsonPrefix(moment));
+
+        if (ENTRADA.equals(moment)) {
+            String[] keys = plan.jsonParameterKeys();
+            out.append(",\"params\":{");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(keys[i]);
+                appendValue(out, values[i]);
+            }
+            out.append('}');
+        } else if (SAIDA.equals(moment)) {
+            if (values.length > 0) {
+                out.append(",\"return\":");
+                appendValue(out, values[0]);
+            }
+            appendDuration(out, durationNanos);
+        } else {
+            appendDuration(out, durationNanos);
+            out.append(",\"error\":{\"class\":");
+            appendValue(out, values[0]);
+            out.append(",\"message\":");
+            appendValue(out, values[1]);
+            out.append(",\"origin\":");
+            appendValue(out, values[2]);
+            out.append('}');
+        }
+        out.append('}');
+
+        String json = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            OUTPUT.remove();
+        }
+        return json;
+    }
+
+    private static void appendDuration(StringBuilder out, long durationNanos) {
+        long micros = Math.max(0, durationNanos) / 1_000;
+        long fraction = micros % 1_000;
+        out.append(",\"durationMs\":").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            out.append('0');
+        }
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private static void appendValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        if (value instanceof LogValue logValue) {
+            if (logValue.value() == null) {
+                out.append("null");
+                return;
+            }
+            StringBuilder scratch = SCRATCH.get();
+            scratch.setLength(0);
+            logValue.renderTo(scratch);
+            appendString(out, scratch);
+            if (scratch.capacity() > MAX_RETAINED_CAPACITY) {
+                SCRATCH.remove();
+            }
+            return;
+        }
+        appendString(out, value instanceof CharSequence sequence ? sequence : value.toString());
+    }
+
+    /**
+     * Escreve uma string JSON (entre aspas e escapada) no buffer.
+     */
+    static void appendString(StringBuilder out, CharSequence value) {
+        out.append('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
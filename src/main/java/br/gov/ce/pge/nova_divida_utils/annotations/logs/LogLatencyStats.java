@@ -0,0 +1,10 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Latências de um método anotado com {@link LogAutomatico}, separadas por desfecho.
+ *
+ * @param metodo  identificação do método ({@code Classe.metodo(tipos)}).
+ * @param sucesso latências das chamadas concluídas normalmente.
+ * @param erro    latências das chamadas que lançaram exceção.
+ */
+public record LogLatencyStats(String metodo, LatencySummary sucesso, LatencySummary erro) {}
@@ -0,0 +1,17 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Origem (primeiro elemento da pilha) de uma exceção, renderizada apenas quando o evento de
+ * ERRO é efetivamente formatado.
+ */
+record LogOrigin(Throwable throwable) {
+
+    @Override
+    public String toString() {
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        if (stackTrace != null && stackTrace.length > 0) {
+            return stackTrace[0].toString();
+        }
+        return "(Origem indisponível)";
+    }
+}
@@ -0,0 +1,176 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import br.gov.ce.pge.nova_divida_utils.utils.StringTools;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Plano de log imutável de um método anotado com {@link LogAutomatico}.
+ * <p>
+ * Tudo o que depende apenas da assinatura do método e da anotação (mensagens de ENTRADA/SAIDA/ERRO
+ * já renderizadas, índices dos parâmetros a serem logados e flags da anotação) é resolvido uma única
+ * vez, na primeira chamada, e reaproveitado nas chamadas seguintes. As mensagens são padrões SLF4J:
+ * os valores variáveis entram como argumentos {@code {}}, renderizados apenas se o evento for emitido.
+ * Os únicos estados mutáveis associados ao plano são o {@link LogSampler} e os {@link LatencyHistogram},
+ * ambos seguros para uso concorrente.
+ */
+record LogPlan(
+        String entradaPattern,
+        String saidaPattern,
+        String erroPattern,
+        int[] parameterIndexes,
+        String[] parameterNames,
+        boolean gravarSaidaMetodo,
+        boolean gravarRetornoMetodo,
+        FormatoLog formato,
+        String jsonEntradaPrefix,
+        String jsonSaidaPrefix,
+        String jsonErroPrefix,
+        String[] jsonParameterKeys,
+        String methodId,
+        LogSampler sampler,
+        LatencyHistogram latenciaSucesso,
+        LatencyHistogram latenciaErro,
+        boolean asyncReturn
+) {
+
+    static final String ENTRADA = "ENTRADA";
+    static final String SAIDA = "SAIDA";
+    static final String ERRO = "ERRO";
+
+    static LogPlan from(MethodSignature signature, FormatoLog formatoPadrao, boolean medirLatencia) {
+        Method method = signature.getMethod();
+        LogAutomatico annotation = method.getAnnotation(LogAutomatico.class);
+
+        String returnType = signature.getReturnType().getName();
+        String declaringType = signature.getDeclaringTypeName();
+        String methodName = signature.getName();
+        String parameterTypes = Arrays.stream(signature.getParameterTypes())
+                .map(Class::getName)
+                .collect(Collectors.joining(", "));
+        String normalizedDescription = StringTools.normalize(annotation.descricao());
+        String description = escape(normalizedDescription);
+        FormatoLog formato = annotation.formato() == FormatoLog.PADRAO ? formatoPadrao : annotation.formato();
+
+        String[] allNames = signature.getParameterNames();
+        if (allNames == null) {
+            allNames = new String[0];
+        }
+        int[] indexes = resolveParameterIndexes(allNames, annotation.argumentosEntrada());
+        String[] names = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            names[i] = allNames[indexes[i]];
+        }
+
+        StringBuilder entrada = new StringBuilder(buildHeader(ENTRADA, description, returnType, declaringType, methodName, parameterTypes));
+        entrada.append("\n\t\t - Parametros:");
+        if (names.length == 0) {
+            entrada.append(" (vazio)");
+        }
+        for (int i = 0; i < names.length; i++) {
+            entrada.append("\n\t\t\t").append(i + 1).append(". ").append(names[i]).append(" = {}");
+        }
+        entrada.append("\n");
+
+        StringBuilder saida = new StringBuilder(buildHeader(SAIDA, description, returnType, declaringType, methodName, parameterTypes));
+        if (annotation.gravarRetornoMetodo()) {
+            saida.append("\n\t\t - Retorno: {}");
+        }
+        saida.append("\n");
+
+        String erro = buildHeader(ERRO, description, returnType, declaringType, methodName, parameterTypes) +
+                "\n\t\t - Causa: {}" +
+                "\n\t\t - Mensagem: '{}'" +
+                "\n\t\t - Origem: {}" +
+                "\n";
+
+        String jsonMethod = methodName + "(" + parameterTypes + ")";
+        String[] jsonKeys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            jsonKeys[i] = LogJsonEncoder.key(names[i]);
+        }
+
+        return new LogPlan(
+                entrada.toString(),
+                saida.toString(),
+                erro,
+                indexes,
+                names,
+                annotation.gravarSaidaMetodo(),
+                annotation.gravarRetornoMetodo(),
+                formato,
+                LogJsonEncoder.prefix(ENTRADA, normalizedDescription, declaringType, jsonMethod),
+                LogJsonEncoder.prefix(SAIDA, normalizedDescription, declaringType, jsonMethod),
+                LogJsonEncoder.prefix(ERRO, normalizedDescription, declaringType, jsonMethod),
+                jsonKeys,
+                declaringType + "." + jsonMethod,
+                LogSampler.of(annotation),
+                medirLatencia ? new LatencyHistogram() : null,
+                medirLatencia ? new LatencyHistogram() : null,
+                isAsyncType(signature.getReturnType()));
+    }
+
+    /**
+     * Indica se o tipo de retorno declarado é concluído de forma assíncrona ({@link CompletionStage},
+     * {@code Mono} ou {@code Flux}), caso em que SAIDA/ERRO só são gerados na conclusão do valor.
+     */
+    private static boolean isAsyncType(Class<?> returnType) {
+        return CompletionStage.class.isAssignableFrom(returnType) || ReactorSupport.isReactiveType(returnType);
+    }
+
+    boolean json() {
+        return formato == FormatoLog.JSON;
+    }
+
+    /**
+     * Início fixo do objeto JSON do momento informado.
+     */
+    String jsonPrefix(String moment) {
+        if (ENTRADA.equals(moment)) {
+            return jsonEntradaPrefix;
+        }
+        return SAIDA.equals(moment) ? jsonSaidaPrefix : jsonErroPrefix;
+    }
+
+    /**
+     * Padrão da mensagem do momento informado (ENTRADA, SAIDA ou ERRO).
+     */
+    String pattern(String moment) {
+        if (ENTRADA.equals(moment)) {
+            return entradaPattern;
+        }
+        return SAIDA.equals(moment) ? saidaPattern : erroPattern;
+    }
+
+    /**
+     * Escapa ocorrências de {@code {}} em textos fixos, para que não sejam confundidas com os
+     * marcadores de argumento do SLF4J.
+     */
+    private static String escape(String text) {
+        return text.replace("{}", "\\{}");
+    }
+
+    private static int[] resolveParameterIndexes(String[] parameterNames, String[] argumentosEntrada) {
+        List<String> argumentsToLog = Arrays.asList(argumentosEntrada);
+        boolean logAll = argumentsToLog.isEmpty();
+        return IntStream.range(0, parameterNames.length)
+                .filter(index -> logAll || argumentsToLog.contains(parameterNames[index]))
+                .toArray();
+    }
+
+    private static String buildHeader(String moment, String description, String returnType,
+                                      String declaringType, String methodName, String parameterTypes) {
+        return "\n\t@LogAutomatico (" + moment + ")" +
+                "\n\t\t - Descricao: " + description +
+                "\n\t\t - Assinatura:" +
+                "\n\t\t\t - Retorno: " + returnType +
+                "\n\t\t\t - Classe: " + declaringType +
+                "\n\t\t\t - Metodo: " + methodName + "(" + parameterTypes + ")";
+    }
+}
@@ -0,0 +1,216 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Renderiza argumentos e valores de retorno no formato {@code Classe(valor)} respeitando limites de
+ * tamanho.
+ * <p>
+ * Coleções, mapas e arrays são percorridos aqui mesmo, elemento a elemento, em vez de usar o
+ * {@code toString()} deles: a renderização para assim que o limite de caracteres, de elementos ou de
+ * profundidade é atingido, e um marcador de truncamento é anexado. Para os demais objetos o
+ * {@code toString()} ainda é chamado, mas apenas o trecho que cabe no limite é copiado.
+ */
+final class LogRenderer {
+
+    static final String TRUNCADO = "...(truncado)";
+
+    /**
+     * Caracteres renderizados além do limite antes do mascaramento: o maior documento formatado e o
+     * caractere seguinte, que não pode ser um dígito.
+     */
+    private static final int FOLGA_MASCARA = 19;
+
+    private final int maxCaracteres;
+    private final int maxElementos;
+    private final int maxEntradasMapa;
+    private final int maxProfundidade;
+    private final LogDocumentMasker masker;
+
+    LogRenderer(LogAutomaticoProperties.Renderizacao config) {
+        this.maxCaracteres = Math.max(TRUNCADO.length(), config.getMaxCaracteres());
+        this.maxElementos = Math.max(0, config.getMaxElementos());
+        this.maxEntradasMapa = Math.max(0, config.getMaxEntradasMapa());
+        this.maxProfundidade = Math.max(0, config.getMaxProfundidade());
+        this.masker = config.isMascararDocumentos() ? new LogDocumentMasker(config.isValidarDigitosDocumentos()) : null;
+    }
+
+    /**
+     * Renderiza o valor no buffer informado, mascarando os CPFs/CNPJs do trecho renderizado.
+     * <p>
+     * Com o mascaramento ligado, o valor é renderizado com uma folga além do limite, mascarado e só então
+     * cortado no limite: um documento que atravesse o ponto de corte é reconhecido inteiro e a parte que
+     * permanece visível já sai mascarada. O resultado é o mesmo da renderização direta no limite.
+     */
+    void render(Object value, StringBuilder target) {
+        int start = target.length();
+        int limit = start + maxCaracteres;
+        if (masker == null) {
+            renderValue(value, target, limit);
+            return;
+        }
+        renderValue(value, target, limit + FOLGA_MASCARA);
+        masker.mask(target, start);
+        if (target.length() > limit) {
+            target.setLength(limit - TRUNCADO.length());
+            target.append(TRUNCADO);
+        }
+    }
+
+    private void renderValue(Object value, StringBuilder target, int limit) {
+        if (value == null) {
+            target.append("(null)");
+            return;
+        }
+        String className = value.getClass().getSimpleName();
+        if (isContainer(value)) {
+            if (appendBounded(target, className, limit) && appendBounded(target, "(", limit)
+                    && renderInner(value, target, limit, 0)) {
+                appendBounded(target, ")", limit);
+            }
+            return;
+        }
+        String valueAsString = String.valueOf(value);
+        if (valueAsString.startsWith(className) && valueAsString.startsWith("(", className.length())) {
+            appendBounded(target, valueAsString, limit);
+            return;
+        }
+        if (appendBounded(target, className, limit) && appendBounded(target, "(", limit)
+                && appendBounded(target, valueAsString, limit)) {
+            appendBounded(target, ")", limit);
+        }
+    }
+
+    private static boolean isContainer(Object value) {
+        return value instanceof Collection<?> || value instanceof Map<?, ?> || value.getClass().isArray();
+    }
+
+    /**
+     * @return {@code false} se o limite de caracteres foi atingido (o marcador já foi anexado).
+     */
+    private boolean renderInner(Object value, StringBuilder target, int limit, int depth) {
+        if (value == null) {
+            return appendBounded(target, "null", limit);
+        }
+        if (value instanceof CharSequence sequence) {
+            return appendBounded(target, sequence, limit);
+        }
+        if (value instanceof Collection<?> collection) {
+            return renderCollection(collection, target, limit, depth);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return renderMap(map, target, limit, depth);
+        }
+        if (value.getClass().isArray()) {
+            return renderArray(value, target, limit, depth);
+        }
+        return appendBounded(target, String.valueOf(value), limit);
+    }
+
+    private boolean renderCollection(Collection<?> collection, StringBuilder target, int limit, int depth) {
+        if (depth >= maxProfundidade) {
+            return appendBounded(target, "[...]", limit);
+        }
+        if (!appendBounded(target, "[", limit)) {
+            return false;
+        }
+        int count = 0;
+        Iterator<?> iterator = collection.iterator();
+        while (iterator.hasNext() && count < maxElementos) {
+            Object element = iterator.next();
+            if (count > 0 && !appendBounded(target, ", ", limit)) {
+                return false;
+            }
+            boolean ok = element == collection
+                    ? appendBounded(target, "(this Collection)", limit)
+                    : renderInner(element, target, limit, depth + 1);
+            if (!ok) {
+                return false;
+            }
+            count++;
+        }
+        return closeContainer(target, collection.size() - count, count, "]", limit);
+    }
+
+    private boolean renderMap(Map<?, ?> map, StringBuilder target, int limit, int depth) {
+        if (depth >= maxProfundidade) {
+            return appendBounded(target, "{...}", limit);
+        }
+        if (!appendBounded(target, "{", limit)) {
+            return false;
+        }
+        int count = 0;
+        Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext() && count < maxEntradasMapa) {
+            Map.Entry<?, ?> entry = iterator.next();
+            if (count > 0 && !appendBounded(target, ", ", limit)) {
+                return false;
+            }
+            if (!renderInner(entry.getKey(), target, limit, depth + 1)
+                    || !appendBounded(target, "=", limit)
+                    || !renderInner(entry.getValue(), target, limit, depth + 1)) {
+                return false;
+            }
+            count++;
+        }
+        return closeContainer(target, map.size() - count, count, "}", limit);
+    }
+
+    private boolean renderArray(Object array, StringBuilder target, int limit, int depth) {
+        if (depth >= maxProfundidade) {
+            return appendBounded(target, "[...]", limit);
+        }
+        if (!appendBounded(target, "[", limit)) {
+            return false;
+        }
+        int length = Array.getLength(array);
+        int count = Math.min(length, maxElementos);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && !appendBounded(target, ", ", limit)) {
+                return false;
+            }
+            if (!renderInner(Array.get(array, i), target, limit, depth + 1)) {
+                return false;
+            }
+        }
+        return closeContainer(target, length - count, count, "]", limit);
+    }
+
+    private boolean closeContainer(StringBuilder target, int remaining, int rendered, String close, int limit) {
+        if (remaining > 0) {
+            if (rendered > 0 && !appendBounded(target, ", ", limit)) {
+                return false;
+            }
+            if (!appendBounded(target, "...(+" + remaining + " elementos)", limit)) {
+                return false;
+            }
+        }
+        return appendBounded(target, close, limit);
+    }
+
+    /**
+     * Copia o texto se ele couber no limite de caracteres. Caso contrário, preenche até o limite e
+     * substitui o final pelo marcador de truncamento, de modo que o valor renderizado termine
+     * exatamente no limite.
+     *
+     * @return {@code false} se o texto foi truncado.
+     */
+    private static boolean appendBounded(StringBuilder target, CharSequence text, int limit) {
+        int available = limit - target.length();
+        if (text.length() <= available) {
+            target.append(text);
+            return true;
+        }
+        int cut = limit - TRUNCADO.length();
+        if (target.length() < cut) {
+            target.append(text, 0, cut - target.length());
+        } else {
+            target.setLength(cut);
+        }
+        target.append(TRUNCADO);
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Amostragem e limite de taxa dos logs de ENTRADA/SAIDA de um método, conforme
+ * {@link LogAutomatico#taxaAmostragem()} e {@link LogAutomatico#maxEventosPorSegundo()}.
+ * <p>
+ * O limite é um balde de fichas sem locks (algoritmo GCRA): um único {@link AtomicLong} guarda o
+ * instante teórico em que o balde volta a ficar cheio e cada chamada registrada avança esse instante
+ * com um CAS. O balde comporta até um segundo de eventos em rajada.
+ */
+final class LogSampler {
+
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double taxaAmostragem;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final LongAdder suprimidos = new LongAdder();
+
+    private LogSampler(double taxaAmostragem, int maxEventosPorSegundo) {
+        this.taxaAmostragem = taxaAmostragem;
+        this.intervalNanos = maxEventosPorSegundo > 0 ? Math.max(1, ONE_SECOND_NANOS / maxEventosPorSegundo) : 0;
+        this.burstNanos = maxEventosPorSegundo > 0 ? intervalNanos * maxEventosPorSegundo : 0;
+    }
+
+    /**
+     * Cria o amostrador do método, ou retorna {@code null} se a anotação não restringe os logs.
+     */
+    static LogSampler of(LogAutomatico annotation) {
+        if (annotation.taxaAmostragem() >= 1.0 && annotation.maxEventosPorSegundo() <= 0) {
+            return null;
+        }
+        return new LogSampler(annotation.taxaAmostragem(), annotation.maxEventosPorSegundo());
+    }
+
+    /**
+     * Decide se a chamada corrente deve ter seus logs de ENTRADA/SAIDA emitidos. Chamadas recusadas
+     * são contabilizadas como suprimidas.
+     */
+    boolean tryAcquire() {
+        if (taxaAmostragem < 1.0 && ThreadLocalRandom.current().nextDouble() >= taxaAmostragem) {
+            suprimidos.increment();
+            return false;
+        }
+        if (intervalNanos > 0 && !acquireToken()) {
+            suprimidos.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean acquireToken() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival - now, 0) + now + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retorna e zera a quantidade de chamadas suprimidas desde a última leitura.
+     */
+    long drainSuprimidos() {
+        return suprimidos.sumThenReset();
+    }
+}
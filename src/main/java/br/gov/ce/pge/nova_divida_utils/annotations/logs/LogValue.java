@@ -0,0 +1,27 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+/**
+ * Valor de argumento ou de retorno cuja renderização é adiada até que o backend de log
+ * efetivamente formate o evento.
+ * <p>
+ * O SLF4J só chama {@link #toString()} nos argumentos de {@code {}} quando a mensagem é
+ * montada, portanto nenhum {@code toString()} do objeto logado é executado se o evento
+ * for descartado pelo nível ou por filtros do logger.
+ */
+record LogValue(Object value, LogRenderer renderer) {
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        renderTo(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Renderiza o valor no formato {@code Classe(valor)}, respeitando os limites do
+     * {@link LogRenderer}, diretamente no buffer informado.
+     */
+    void renderTo(StringBuilder target) {
+        renderer.render(value, target);
+    }
+}
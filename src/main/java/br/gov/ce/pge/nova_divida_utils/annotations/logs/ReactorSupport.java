@@ -0,0 +1,78 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Suporte opcional aos tipos {@code Mono} e {@code Flux} do Reactor.
+ * <p>
+ * Só acessa as classes do Reactor quando ele está no classpath; caso contrário, nenhum retorno é
+ * tratado como reativo.
+ */
+final class ReactorSupport {
+
+    private static final boolean PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono", ReactorSupport.class.getClassLoader());
+
+    private ReactorSupport() {
+        // Classe utilitária.
+    }
+
+    static boolean isReactiveType(Class<?> type) {
+        return PRESENT && Adapter.isReactiveType(type);
+    }
+
+    /**
+     * Decora o publisher para chamar o callback na conclusão de cada assinatura. A duração é medida a
+     * partir da assinatura, que é quando o trabalho de fato começa.
+     *
+     * @return o publisher decorado, ou o próprio valor se ele não for um {@code Mono}/{@code Flux}.
+     */
+    static Object decorate(Object value, AsyncCompletion completion) {
+        return PRESENT ? Adapter.decorate(value, completion) : value;
+    }
+
+    /**
+     * Quantidade de elementos emitidos por um {@code Flux} concluído com sucesso, registrada como
+     * valor de retorno no log de SAIDA.
+     */
+    record FluxResult(long elementos) {
+
+        @Override
+        public String toString() {
+            return "FluxResult(elementos=" + elementos + ")";
+        }
+    }
+
+    private static final class Adapter {
+
+        private Adapter() {
+        }
+
+        static boolean isReactiveType(Class<?> type) {
+            return Mono.class.isAssignableFrom(type) || Flux.class.isAssignableFrom(type);
+        }
+
+        static Object decorate(Object value, AsyncCompletion completion) {
+            if (value instanceof Mono<?> mono) {
+                return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return mono
+                            .doOnSuccess(result -> completion.complete(result, null, System.nanoTime() - start))
+                            .doOnError(error -> completion.complete(null, error, System.nanoTime() - start));
+                });
+            }
+            if (value instanceof Flux<?> flux) {
+                return Flux.defer(() -> {
+                    long start = System.nanoTime();
+                    long[] elementos = new long[1];
+                    return flux
+                            .doOnNext(element -> elementos[0]++)
+                            .doOnComplete(() -> completion.complete(new FluxResult(elementos[0]), null, System.nanoTime() - start))
+                            .doOnError(error -> completion.complete(null, error, System.nanoTime() - start));
+                });
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.text.Normalizer;
+
+/**
+ * Remoção de acentos por tabela, com o mesmo resultado de decompor o texto ({@link Normalizer.Form#NFD}) e
+ * remover as marcas ({@code \p{M}}).
+ * <p>
+ * A tabela cobre Latin-1, Latin Extended-A ({@code U+0000}–{@code U+017F}) e as marcas combinantes
+ * ({@code U+0300}–{@code U+036F}) e é gerada na inicialização da classe a partir do próprio
+ * {@link Normalizer}, de modo que não há mapeamento escrito à mão para divergir. Textos só com ASCII são
+ * devolvidos sem cópia; os demais são convertidos em uma passada pela tabela. Apenas textos com caracteres
+ * fora da tabela passam pela normalização Unicode completa.
+ * <p>
+ * Dentro da tabela a conversão caractere a caractere é equivalente à do texto inteiro: a decomposição só
+ * reordena marcas entre si e todas elas são removidas.
+ */
+public final class AccentFolder {
+
+    /** Caractere removido (marca combinante). */
+    static final int REMOVER = -1;
+    /** Caractere fora da tabela: exige a normalização completa. */
+    static final int NORMALIZAR = -2;
+
+    private static final int FIM_LATIN = 0x0180;
+    private static final int INICIO_MARCAS = 0x0300;
+    private static final int FIM_MARCAS = 0x0370;
+
+    private static final char[] LATIN = new char[FIM_LATIN];
+    private static final boolean[] LATIN_COMPLETO = new boolean[FIM_LATIN];
+
+    static {
+        for (char c = 0; c < FIM_LATIN; c++) {
+            String folded = normalizeFully(String.valueOf(c));
+            if (folded.length() == 1) {
+                LATIN[c] = folded.charAt(0);
+                LATIN_COMPLETO[c] = true;
+            }
+        }
+    }
+
+    private AccentFolder() {
+        // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
+    }
+
+    /**
+     * Remove os acentos do texto.
+     * @param str Texto a converter.
+     * @return o texto sem acentos, o próprio {@code str} se ele não tiver acentos, ou {@code null} se ele for
+     * {@code null}.
+     */
+    public static String fold(String str) {
+        if (str == null) {
+            return null;
+        }
+        int n = str.length();
+        int i = 0;
+        while (i < n && fold(str.charAt(i)) == str.charAt(i)) {
+            i++;
+        }
+        if (i == n) {
+            return str;
+        }
+        char[] out = new char[n];
+        str.getChars(0, i, out, 0);
+        int length = i;
+        for (; i < n; i++) {
+            int c = fold(str.charAt(i));
+            if (c >= 0) {
+                out[length++] = (char) c;
+            } else if (c == NORMALIZAR) {
+                return normalizeFully(str);
+            }
+        }
+        return new String(out, 0, length);
+    }
+
+    /**
+     * Caractere sem acento, {@link #REMOVER} para marcas combinantes ou {@link #NORMALIZAR} para caracteres
+     * fora da tabela.
+     */
+    static int fold(char c) {
+        if (c < FIM_LATIN) {
+            return LATIN_COMPLETO[c] ? LATIN[c] : NORMALIZAR;
+        }
+        if (c >= INICIO_MARCAS && c < FIM_MARCAS) {
+            return REMOVER;
+        }
+        return NORMALIZAR;
+    }
+
+    /**
+     * Normalização completa, usada para os caracteres fora da tabela.
+     */
+    static String normalizeFully(String str) {
+        return Normalizer.normalize(str, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
@@ -0,0 +1,131 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+/**
+ * Código fonético de palavras em português, no estilo do algoritmo BuscaBR.
+ * <p>
+ * A palavra é convertida para maiúsculas e sem acentos e passa pelas substituições abaixo, nesta ordem, cada
+ * uma aplicada da esquerda para a direita sobre o resultado da anterior:
+ * <ol>
+ * <li>{@code W} → {@code V}; {@code BL}, {@code BR} → {@code B}; {@code PH} → {@code F};</li>
+ * <li>{@code GL}, {@code GR}, {@code MG}, {@code NG}, {@code RG} → {@code G}; {@code Y} → {@code I};</li>
+ * <li>{@code GE}, {@code GI}, {@code RJ}, {@code MJ} → {@code J};</li>
+ * <li>{@code CA}, {@code CO}, {@code CU}, {@code CK}, {@code Q} → {@code K};</li>
+ * <li>{@code AO}, {@code AUM}, {@code GM}, {@code MD}, {@code OM}, {@code ON}, {@code N} → {@code M};</li>
+ * <li>{@code PR} → {@code P}; {@code L} → {@code R};</li>
+ * <li>{@code CE}, {@code CI}, {@code CH}, {@code CS}, {@code RS}, {@code TS}, {@code X}, {@code Z} → {@code S};</li>
+ * <li>{@code TR}, {@code TL}, {@code CT}, {@code RT}, {@code ST}, {@code PT} → {@code T};</li>
+ * <li>remoção da última letra se ela for {@code S}, {@code R} ou {@code M} (terminações {@code S}, {@code Z},
+ * {@code R}, {@code M}, {@code N}, {@code AO} e {@code L} após as substituições);</li>
+ * <li>remoção das vogais e do {@code H} e das letras repetidas em sequência.</li>
+ * </ol>
+ * Assim, por exemplo, {@code SOUZA} e {@code SOUSA}, {@code LUIZ} e {@code LUIS}, {@code FELIPE} e
+ * {@code PHILIPE} ou {@code THIAGO} e {@code TIAGO} têm o mesmo código. O {@code Ç} é tratado como {@code S} e os
+ * caracteres que não são letras são ignorados.
+ */
+public final class BuscaBR {
+
+    private static final String[][] REGRAS = {
+            {"W", "V"}, {"BL", "B"}, {"BR", "B"}, {"PH", "F"},
+            {"GL", "G"}, {"GR", "G"}, {"MG", "G"}, {"NG", "G"}, {"RG", "G"}, {"Y", "I"},
+            {"GE", "J"}, {"GI", "J"}, {"RJ", "J"}, {"MJ", "J"},
+            {"CA", "K"}, {"CO", "K"}, {"CU", "K"}, {"CK", "K"}, {"Q", "K"},
+            {"AUM", "M"}, {"AO", "M"}, {"GM", "M"}, {"MD", "M"}, {"OM", "M"}, {"ON", "M"}, {"N", "M"},
+            {"PR", "P"}, {"L", "R"},
+            {"CE", "S"}, {"CI", "S"}, {"CH", "S"}, {"CS", "S"}, {"RS", "S"}, {"TS", "S"}, {"X", "S"}, {"Z", "S"},
+            {"TR", "T"}, {"TL", "T"}, {"CT", "T"}, {"RT", "T"}, {"ST", "T"}, {"PT", "T"},
+    };
+
+    /** Etapas (índice final, exclusivo, em {@link #REGRAS}), aplicadas uma de cada vez sobre a palavra. */
+    private static final int[] ETAPAS = {4, 10, 14, 19, 26, 28, 36, 42};
+
+    private BuscaBR() {
+        // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
+    }
+
+    /**
+     * Código fonético da palavra.
+     * @param palavra Palavra, com ou sem acentos.
+     * @return o código, vazio se a palavra não tiver consoantes, ou {@code null} se ela for {@code null}.
+     */
+    public static String encode(String palavra) {
+        if (palavra == null) {
+            return null;
+        }
+        String semAcentos = StringTools.normalize(palavra.replace('Ç', 'S').replace('ç', 'S'));
+        char[] chars = new char[semAcentos.length()];
+        int length = 0;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = Character.toUpperCase(semAcentos.charAt(i));
+            if (c >= 'A' && c <= 'Z') {
+                chars[length++] = c;
+            }
+        }
+        return new String(chars, 0, encode(chars, length));
+    }
+
+    /**
+     * Calcula, em {@code chars}, o código fonético da palavra nas {@code length} primeiras posições (letras
+     * ASCII maiúsculas).
+     * @return o tamanho do código.
+     */
+    static int encode(char[] chars, int length) {
+        int inicio = 0;
+        for (int fim : ETAPAS) {
+            length = substituir(chars, length, inicio, fim);
+            inicio = fim;
+        }
+        if (length > 1 && isTerminacao(chars[length - 1])) {
+            length--;
+        }
+        int codigo = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (!isVogalOuH(c) && (codigo == 0 || chars[codigo - 1] != c)) {
+                chars[codigo++] = c;
+            }
+        }
+        return codigo;
+    }
+
+    /**
+     * Aplica as regras {@code [inicio, fim)} em uma passada: em cada posição, a primeira regra que combinar
+     * é substituída e a varredura continua após o trecho substituído.
+     */
+    private static int substituir(char[] chars, int length, int inicio, int fim) {
+        int out = 0;
+        int i = 0;
+        while (i < length) {
+            int regra = inicio;
+            while (regra < fim && !combina(chars, length, i, REGRAS[regra][0])) {
+                regra++;
+            }
+            if (regra < fim) {
+                chars[out++] = REGRAS[regra][1].charAt(0);
+                i += REGRAS[regra][0].length();
+            } else {
+                chars[out++] = chars[i++];
+            }
+        }
+        return out;
+    }
+
+    private static boolean combina(char[] chars, int length, int i, String padrao) {
+        if (i + padrao.length() > length) {
+            return false;
+        }
+        for (int j = 0; j < padrao.length(); j++) {
+            if (chars[i + j] != padrao.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTerminacao(char c) {
+        return c == 'S' || c == 'R' || c == 'M';
+    }
+
+    private static boolean isVogalOuH(char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U' || c == 'H';
+    }
+}
@@ -0,0 +1,179 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto imutável de caracteres para filtrar textos em uma única passada.
+ * <p>
+ * O conjunto é montado uma vez (normalmente em uma constante) e a consulta de cada caractere é feita em um
+ * mapa de bits para o intervalo ASCII/Latin-1 ({@code U+0000}–{@code U+00FF}) e por busca binária nos
+ * demais. As operações percorrem o texto uma única vez e, quando nada muda, devolvem a própria instância
+ * recebida, sem alocar.
+ * <p>
+ * As instâncias são thread-safe.
+ */
+public final class CharFilter {
+
+    private static final int LATIN1 = 256;
+
+    /** Caracteres Latin-1 do conjunto, um bit por caractere. */
+    private final long[] latin1 = new long[LATIN1 / Long.SIZE];
+    /** Demais caracteres do conjunto, ordenados. */
+    private final char[] others;
+
+    private CharFilter(char[] chars) {
+        char[] outros = new char[chars.length];
+        int quantidade = 0;
+        for (char c : chars) {
+            if (c < LATIN1) {
+                latin1[c >>> 6] |= 1L << c;
+            } else {
+                outros[quantidade++] = c;
+            }
+        }
+        outros = Arrays.copyOf(outros, quantidade);
+        Arrays.sort(outros);
+        this.others = outros;
+    }
+
+    /**
+     * Cria o filtro com os caracteres informados.
+     */
+    public static CharFilter of(char... chars) {
+        return new CharFilter(chars.clone());
+    }
+
+    /**
+     * Cria o filtro com os caracteres do texto informado.
+     */
+    public static CharFilter of(CharSequence chars) {
+        return new CharFilter(chars.toString().toCharArray());
+    }
+
+    /**
+     * Indica se o caractere pertence ao conjunto.
+     */
+    public boolean contains(char c) {
+        if (c < LATIN1) {
+            return (latin1[c >>> 6] & (1L << c)) != 0;
+        }
+        return others.length > 0 && Arrays.binarySearch(others, c) >= 0;
+    }
+
+    /**
+     * Quantidade de caracteres do texto que pertencem ao conjunto.
+     */
+    public int count(CharSequence text) {
+        int count = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (contains(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove do texto os caracteres do conjunto.
+     * @return o texto sem os caracteres, ou o próprio {@code text} se nenhum deles ocorrer.
+     */
+    public String remove(String text) {
+        return (String) filter(text, true);
+    }
+
+    /**
+     * Remove do texto os caracteres do conjunto.
+     * @return o texto sem os caracteres, ou o próprio {@code text} se nenhum deles ocorrer.
+     */
+    public CharSequence remove(CharSequence text) {
+        return filter(text, true);
+    }
+
+    /**
+     * Mantém no texto apenas os caracteres do conjunto.
+     * @return o texto só com os caracteres do conjunto, ou o próprio {@code text} se não houver o que remover.
+     */
+    public String retain(String text) {
+        return (String) filter(text, false);
+    }
+
+    /**
+     * Mantém no texto apenas os caracteres do conjunto.
+     * @return o texto só com os caracteres do conjunto, ou o próprio {@code text} se não houver o que remover.
+     */
+    public CharSequence retain(CharSequence text) {
+        return filter(text, false);
+    }
+
+    /**
+     * Substitui cada sequência de caracteres do conjunto por um único {@code replacement}. Com o conjunto de
+     * espaços em branco e {@code ' '}, por exemplo, junta os espaços repetidos.
+     * @return o texto com as sequências substituídas, ou o próprio {@code text} se todas elas já forem um
+     * único {@code replacement}.
+     */
+    public String collapse(String text, char replacement) {
+        return (String) collapse((CharSequence) text, replacement);
+    }
+
+    /**
+     * Substitui cada sequência de caracteres do conjunto por um único {@code replacement}.
+     * @return o texto com as sequências substituídas, ou o próprio {@code text} se todas elas já forem um
+     * único {@code replacement}.
+     */
+    public CharSequence collapse(CharSequence text, char replacement) {
+        int n = text.length();
+        int i = 0;
+        // Avança enquanto as sequências já estão no formato final.
+        while (i < n) {
+            char c = text.charAt(i);
+            if (contains(c)) {
+                if (c != replacement || (i + 1 < n && contains(text.charAt(i + 1)))) {
+                    break;
+                }
+            }
+            i++;
+        }
+        if (i == n) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(n).append(text, 0, i);
+        boolean emSequencia = false;
+        for (; i < n; i++) {
+            char c = text.charAt(i);
+            if (!contains(c)) {
+                out.append(c);
+                emSequencia = false;
+            } else if (!emSequencia) {
+                out.append(replacement);
+                emSequencia = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Mantém os caracteres cuja presença no conjunto é diferente de {@code remover}.
+     */
+    private CharSequence filter(CharSequence text, boolean remover) {
+        int n = text.length();
+        int i = 0;
+        while (i < n && contains(text.charAt(i)) != remover) {
+            i++;
+        }
+        if (i == n) {
+            return text;
+        }
+        char[] out = new char[n - 1];
+        int length = 0;
+        for (int j = 0; j < i; j++) {
+            out[length++] = text.charAt(j);
+        }
+        for (i++; i < n; i++) {
+            char c = text.charAt(i);
+            if (contains(c) != remover) {
+                out[length++] = c;
+            }
+        }
+        return new String(out, 0, length);
+    }
+}
@@ -0,0 +1,260 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validação de cpf/cnpj em lote.
+ * <p>
+ * O resultado é um {@link BitSet} em que o bit {@code i} indica se o documento {@code i} é válido. Lotes
+ * grandes são divididos em blocos processados em paralelo no {@link ForkJoinPool#commonPool()}; cada bloco
+ * cobre um múltiplo de 64 documentos e escreve apenas as suas próprias palavras do resultado, sem
+ * sincronização.
+ * <p>
+ * Para buffers de dígitos ASCII de largura fixa ({@link #checkCPF(byte[], int)} e
+ * {@link #checkCNPJ(byte[], int)}) os dígitos são lidos 8 de cada vez em um {@code long} e tanto a
+ * verificação de que todos os bytes são dígitos quanto as somas ponderadas dos dígitos verificadores são
+ * feitas com aritmética SWAR (vários dígitos por operação), sem laço por dígito.
+ */
+public final class CpfCnpjBatchValidator {
+
+    /** Quantidade máxima de documentos validados sequencialmente por bloco (múltiplo de 64). */
+    private static final int BLOCO = 16 * 1024;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long ACIMA_DE_NOVE = 0x4646464646464646L;
+    private static final long BITS_ALTOS = 0x8080808080808080L;
+    private static final long UNS = 0x0101010101010101L;
+    private static final long BYTES_PARES = 0x00FF00FF00FF00FFL;
+    private static final long UNS_16 = 0x0001000100010001L;
+
+    private CpfCnpjBatchValidator() {
+        // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
+    }
+
+    /**
+     * Valida cada documento do array, como {@link CpfCnpjUtils#checkCPFCNPJ(String)}.
+     * @param documentos Cpfs e/ou cnpjs, com ou sem formatação. Elementos nulos são inválidos.
+     * @return bits ligados nas posições dos documentos válidos.
+     */
+    public static BitSet checkCPFCNPJ(CharSequence[] documentos) {
+        return run(documentos.length, (from, to, words) -> {
+            for (int i = from; i < to; i++) {
+                if (CpfCnpjValidator.checkCPFCNPJ(documentos[i])) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    /**
+     * Valida cada documento do array, aceitando também cnpjs alfanuméricos, como
+     * {@link CpfCnpjUtils#checkCPFCNPJAlfanumerico(String)}.
+     * @param documentos Cpfs e/ou cnpjs, com ou sem formatação. Elementos nulos são inválidos.
+     * @return bits ligados nas posições dos documentos válidos.
+     */
+    public static BitSet checkCPFCNPJAlfanumerico(CharSequence[] documentos) {
+        return run(documentos.length, (from, to, words) -> {
+            for (int i = from; i < to; i++) {
+                if (CpfCnpjValidator.checkCPFCNPJAlfanumerico(documentos[i])) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    /**
+     * Valida cada documento da lista, como {@link CpfCnpjUtils#checkCPFCNPJ(String)}. A lista deve permitir
+     * acesso aleatório eficiente ({@link java.util.RandomAccess}).
+     * @param documentos Cpfs e/ou cnpjs, com ou sem formatação. Elementos nulos são inválidos.
+     * @return bits ligados nas posições dos documentos válidos.
+     */
+    public static BitSet checkCPFCNPJ(List<? extends CharSequence> documentos) {
+        return run(documentos.size(), (from, to, words) -> {
+            for (int i = from; i < to; i++) {
+                if (CpfCnpjValidator.checkCPFCNPJ(documentos.get(i))) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    /**
+     * Valida cpfs armazenados em sequência, sem formatação, 11 dígitos ASCII cada.
+     * @param digitos Buffer com {@code quantidade * 11} bytes.
+     * @param quantidade Quantidade de cpfs.
+     * @return bits ligados nas posições dos cpfs válidos.
+     */
+    public static BitSet checkCPF(byte[] digitos, int quantidade) {
+        checkBuffer(digitos, quantidade, CpfCnpjUtils.CPF_DOC_LENGTH);
+        return run(quantidade, (from, to, words) -> {
+            for (int i = from; i < to; i++) {
+                if (isCpf(digitos, i * CpfCnpjUtils.CPF_DOC_LENGTH)) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    /**
+     * Valida cnpjs armazenados em sequência, sem formatação, 14 dígitos ASCII cada.
+     * @param digitos Buffer com {@code quantidade * 14} bytes.
+     * @param quantidade Quantidade de cnpjs.
+     * @return bits ligados nas posições dos cnpjs válidos.
+     */
+    public static BitSet checkCNPJ(byte[] digitos, int quantidade) {
+        checkBuffer(digitos, quantidade, CpfCnpjUtils.CNPJ_DOC_LENGTH);
+        return run(quantidade, (from, to, words) -> {
+            for (int i = from; i < to; i++) {
+                if (isCnpj(digitos, i * CpfCnpjUtils.CNPJ_DOC_LENGTH)) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    private static void checkBuffer(byte[] digitos, int quantidade, int largura) {
+        if (quantidade < 0 || (long) quantidade * largura > digitos.length) {
+            throw new IllegalArgumentException("Buffer com " + digitos.length + " bytes não comporta "
+                    + quantidade + " documentos de " + largura + " dígitos");
+        }
+    }
+
+    /**
+     * Cpf de 11 dígitos ASCII a partir de {@code o}. Mesmas regras de {@link CpfCnpjValidator}.
+     */
+    static boolean isCpf(byte[] b, int o) {
+        long a = (long) LONG_LE.get(b, o);
+        long c = (long) LONG_LE.get(b, o + 3);
+        if (!allDigits(a) || !allDigits(c)) {
+            return false;
+        }
+        long x = a - ZEROS;
+        long p = x * UNS;
+        int total = (int) (p >>> 56);
+        int ponderada = prefixSums(p);
+        int d8 = b[o + 8] - '0';
+        int d9 = b[o + 9] - '0';
+        int d10 = b[o + 10] - '0';
+
+        // Pesos 10..2 = (8..1) + 2 para d0..d7 e 2 para d8.
+        int dv1 = 11 - (ponderada + 2 * total + 2 * d8) % 11;
+        if (dv1 > 9) {
+            dv1 = 0;
+        }
+        if (dv1 != d9) {
+            return false;
+        }
+        // Pesos 11..3 = (8..1) + 3 para d0..d7 e 3 para d8, mais o primeiro dígito verificador em dobro.
+        int dv2 = 11 - (ponderada + 3 * total + 3 * d8 + 2 * dv1) % 11;
+        if (dv2 > 9) {
+            dv2 = 0;
+        }
+        if (dv2 != d10) {
+            return false;
+        }
+        int d0 = (int) (x & 0xFF);
+        return !(x == d0 * UNS && d8 == d0 && d9 == d0 && d10 == d0);
+    }
+
+    /**
+     * Cnpj de 14 dígitos ASCII a partir de {@code o}. Mesmas regras de {@link CpfCnpjValidator}.
+     */
+    static boolean isCnpj(byte[] b, int o) {
+        long a = (long) LONG_LE.get(b, o);
+        long c = (long) LONG_LE.get(b, o + 6);
+        if (!allDigits(a) || !allDigits(c)) {
+            return false;
+        }
+        if (a == ZEROS && c == ZEROS) {
+            return false;
+        }
+        // d0..d3 com pesos 8..5 (menos 3 = 5..2) e d4..d11 com pesos 8..1 (mais 1 = 9..2).
+        long x4 = (a - ZEROS) & 0xFFFFFFFFL;
+        long y = (long) LONG_LE.get(b, o + 4) - ZEROS;
+        long px4 = x4 * UNS;
+        long py = y * UNS;
+        int soma1 = prefixSums(px4) - 3 * (int) (px4 >>> 56) + prefixSums(py) + (int) (py >>> 56);
+        int d12 = b[o + 12] - '0';
+        if (checkDigitCnpj(soma1) != d12) {
+            return false;
+        }
+        // d0..d4 com pesos 8..4 (menos 2 = 6..2) e d5..d12 com pesos 8..1 (mais 1 = 9..2).
+        long x5 = (a - ZEROS) & 0xFFFFFFFFFFL;
+        long z = (long) LONG_LE.get(b, o + 5) - ZEROS;
+        long px5 = x5 * UNS;
+        long pz = z * UNS;
+        int soma2 = prefixSums(px5) - 2 * (int) (px5 >>> 56) + prefixSums(pz) + (int) (pz >>> 56);
+        return checkDigitCnpj(soma2) == b[o + 13] - '0';
+    }
+
+    private static int checkDigitCnpj(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    /**
+     * Indica se os 8 bytes são dígitos ASCII: nenhum byte abaixo de '0', acima de '9' ou com o bit alto.
+     */
+    private static boolean allDigits(long word) {
+        return (((word - ZEROS) | (word + ACIMA_DE_NOVE) | word) & BITS_ALTOS) == 0;
+    }
+
+    /**
+     * Recebe {@code x * 0x0101010101010101}, cujo byte {@code t} é a soma dos dígitos 0..t, e devolve a soma
+     * desses 8 prefixos, isto é, a soma dos dígitos com pesos 8, 7, ..., 1. Os prefixos são somados em pares
+     * em campos de 16 bits e os 4 campos resultantes, com uma multiplicação.
+     */
+    private static int prefixSums(long prefixos) {
+        long pares = (prefixos & BYTES_PARES) + ((prefixos >>> 8) & BYTES_PARES);
+        return (int) ((pares * UNS_16) >>> 48);
+    }
+
+    @FunctionalInterface
+    private interface Kernel {
+        void validate(int from, int to, long[] words);
+    }
+
+    private static BitSet run(int quantidade, Kernel kernel) {
+        long[] words = new long[(quantidade + 63) >>> 6];
+        if (quantidade <= BLOCO) {
+            kernel.validate(0, quantidade, words);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Bloco(kernel, words, 0, quantidade));
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static final class Bloco extends RecursiveAction {
+
+        private final transient Kernel kernel;
+        private final long[] words;
+        private final int from;
+        private final int to;
+
+        Bloco(Kernel kernel, long[] words, int from, int to) {
+            this.kernel = kernel;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCO) {
+                kernel.validate(from, to, words);
+                return;
+            }
+            // Divide em múltiplo de 64 para que cada bloco escreva apenas as suas palavras.
+            int mid = (from + ((to - from) >>> 1)) & ~63;
+            invokeAll(new Bloco(kernel, words, from, mid), new Bloco(kernel, words, mid, to));
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Valida a coluna de cpf/cnpj de arquivos CSV ou de largura fixa, separando as linhas em um arquivo de
+ * válidas e outro de inválidas.
+ * <p>
+ * O arquivo de entrada é mapeado em memória ({@link FileChannel#map}) em blocos terminados em fim de linha,
+ * processados em paralelo. O documento é localizado e validado diretamente nos bytes mapeados
+ * ({@link CpfCnpjValidator}), sem criar {@code String}s por linha. Cada bloco grava as suas linhas em
+ * arquivos temporários por meio de buffers de tamanho fixo, e ao final os temporários são concatenados na
+ * ordem original ({@link FileChannel#transferTo}). O consumo de memória do heap é, portanto, constante,
+ * independentemente do tamanho do arquivo.
+ * <p>
+ * O texto é tratado como ASCII/ISO-8859-1 (ou UTF-8, já que os bytes de caracteres multibyte nunca são
+ * dígitos nem delimitadores). Linhas em branco são ignoradas; terminadores {@code \r\n} são preservados.
+ */
+public final class CpfCnpjFileValidator {
+
+    /** Totais de um processamento. */
+    public record Resultado(long linhas, long validas, long invalidas) {
+
+        Resultado somar(Resultado outro) {
+            return new Resultado(linhas + outro.linhas, validas + outro.validas, invalidas + outro.invalidas);
+        }
+    }
+
+    private static final int TAMANHO_BUFFER_SAIDA = 64 * 1024;
+    /** Campos mais longos que isso não podem conter um cpf/cnpj, mesmo formatado e com espaços. */
+    private static final int MAX_CAMPO = 64;
+
+    private final boolean larguraFixa;
+    private final byte delimitador;
+    private final int coluna;
+    private final int inicio;
+    private final int largura;
+    private final boolean normalizar;
+    private final boolean cabecalho;
+    private final int paralelismo;
+    private final long tamanhoBloco;
+
+    private CpfCnpjFileValidator(Builder builder) {
+        this.larguraFixa = builder.larguraFixa;
+        this.delimitador = builder.delimitador;
+        this.coluna = builder.coluna;
+        this.inicio = builder.inicio;
+        this.largura = builder.largura;
+        this.normalizar = builder.normalizar;
+        this.cabecalho = builder.cabecalho;
+        this.paralelismo = builder.paralelismo;
+        this.tamanhoBloco = builder.tamanhoBloco;
+    }
+
+    /**
+     * Arquivo delimitado (CSV) com o documento na coluna informada (a partir de 0). Campos podem estar entre
+     * aspas duplas, com o delimitador dentro das aspas fazendo parte do campo e {@code ""} representando uma
+     * aspa; as aspas em volta do campo do documento são ignoradas.
+     */
+    public static Builder csv(char delimitador, int coluna) {
+        if (delimitador > 0x7F || coluna < 0) {
+            throw new IllegalArgumentException("Delimitador deve ser ASCII e coluna não negativa");
+        }
+        Builder builder = new Builder();
+        builder.delimitador = (byte) delimitador;
+        builder.coluna = coluna;
+        return builder;
+    }
+
+    /**
+     * Arquivo de largura fixa com o documento em {@code largura} caracteres a partir da posição
+     * {@code inicio} (a partir de 0). Espaços em volta do documento são ignorados.
+     */
+    public static Builder larguraFixa(int inicio, int largura) {
+        if (inicio < 0 || largura <= 0) {
+            throw new IllegalArgumentException("Posição e largura do campo inválidas");
+        }
+        Builder builder = new Builder();
+        builder.larguraFixa = true;
+        builder.inicio = inicio;
+        builder.largura = largura;
+        return builder;
+    }
+
+    /** Configuração de {@link CpfCnpjFileValidator}. */
+    public static final class Builder {
+
+        private boolean larguraFixa;
+        private byte delimitador;
+        private int coluna;
+        private int inicio;
+        private int largura;
+        private boolean normalizar;
+        private boolean cabecalho;
+        private int paralelismo = Runtime.getRuntime().availableProcessors();
+        private long tamanhoBloco = 64L * 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Grava o documento das linhas válidas apenas com os dígitos (sem formatação). Em arquivos de largura
+         * fixa os dígitos são alinhados à esquerda e completados com espaços, mantendo a largura do campo.
+         */
+        public Builder normalizar(boolean normalizar) {
+            this.normalizar = normalizar;
+            return this;
+        }
+
+        /** A primeira linha é um cabeçalho: não é validada e é copiada para os dois arquivos de saída. */
+        public Builder cabecalho(boolean cabecalho) {
+            this.cabecalho = cabecalho;
+            return this;
+        }
+
+        /** Quantidade de blocos processados simultaneamente. O padrão é a quantidade de processadores. */
+        public Builder paralelismo(int paralelismo) {
+            this.paralelismo = Math.max(1, paralelismo);
+            return this;
+        }
+
+        /** Tamanho aproximado, em bytes, de cada bloco mapeado. O padrão é 64 MB. */
+        public Builder tamanhoBloco(long tamanhoBloco) {
+            this.tamanhoBloco = Math.max(1, Math.min(tamanhoBloco, Integer.MAX_VALUE / 2));
+            return this;
+        }
+
+        public CpfCnpjFileValidator build() {
+            return new CpfCnpjFileValidator(this);
+        }
+    }
+
+    /**
+     * Processa o arquivo de entrada, gravando as linhas válidas e inválidas nos arquivos informados
+     * (sobrescritos se existirem).
+     * @return os totais de linhas processadas (sem o cabeçalho), válidas e inválidas.
+     * @throws IOException em caso de erro de leitura ou gravação.
+     */
+    public Resultado processar(Path entrada, Path validas, Path invalidas) throws IOException {
+        try (FileChannel in = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            long tamanho = in.size();
+            long inicioDados = cabecalho ? nextLine(in, 0, tamanho) : 0;
+            List<long[]> blocos = split(in, inicioDados, tamanho);
+
+            List<Path> temporarios = new ArrayList<>();
+            int threads = Math.min(paralelismo, Math.max(1, blocos.size()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "cpf-cnpj-file-validator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Resultado>> futures = new ArrayList<>();
+                Path diretorio = validas.toAbsolutePath().getParent();
+                for (long[] bloco : blocos) {
+                    Path tmpValidas = Files.createTempFile(diretorio, "validas", ".tmp");
+                    temporarios.add(tmpValidas);
+                    Path tmpInvalidas = Files.createTempFile(diretorio, "invalidas", ".tmp");
+                    temporarios.add(tmpInvalidas);
+                    futures.add(executor.submit(() -> processBlock(in, bloco[0], bloco[1], tmpValidas, tmpInvalidas)));
+                }
+                Resultado resultado = new Resultado(0, 0, 0);
+                for (Future<Resultado> future : futures) {
+                    resultado = resultado.somar(await(future));
+                }
+                concat(in, inicioDados, temporarios, 0, validas);
+                concat(in, inicioDados, temporarios, 1, invalidas);
+                return resultado;
+            } finally {
+                executor.shutdownNow();
+                for (Path temporario : temporarios) {
+                    Files.deleteIfExists(temporario);
+                }
+            }
+        }
+    }
+
+    private static Resultado await(Future<Resultado> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Processamento interrompido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Grava o cabeçalho (se houver) e os temporários da partição informada (0: válidas, 1: inválidas), na
+     * ordem dos blocos.
+     */
+    private static void concat(FileChannel in, long inicioDados, List<Path> temporarios, int particao, Path destino)
+            throws IOException {
+        try (FileChannel out = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            transfer(in, 0, inicioDados, out);
+            if (inicioDados > 0 && !endsWithNewLine(in, inicioDados)) {
+                out.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+            for (int i = particao; i < temporarios.size(); i += 2) {
+                try (FileChannel tmp = FileChannel.open(temporarios.get(i), StandardOpenOption.READ)) {
+                    transfer(tmp, 0, tmp.size(), out);
+                }
+            }
+        }
+    }
+
+    private static void transfer(FileChannel from, long position, long count, FileChannel to) throws IOException {
+        long done = 0;
+        while (done < count) {
+            done += from.transferTo(position + done, count - done, to);
+        }
+    }
+
+    private static boolean endsWithNewLine(FileChannel in, long end) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        in.read(last, end - 1);
+        return last.get(0) == '\n';
+    }
+
+    /**
+     * Divide {@code [inicio, fim)} em blocos de aproximadamente {@link #tamanhoBloco} bytes, cada um
+     * terminando logo após um {@code \n} (ou no fim do arquivo).
+     */
+    private List<long[]> split(FileChannel in, long inicio, long fim) throws IOException {
+        List<long[]> blocos = new ArrayList<>();
+        long start = inicio;
+        while (start < fim) {
+            long end = start + tamanhoBloco >= fim ? fim : nextLine(in, start + tamanhoBloco, fim);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Linha com mais de " + Integer.MAX_VALUE + " bytes");
+            }
+            blocos.add(new long[]{start, end});
+            start = end;
+        }
+        return blocos;
+    }
+
+    /**
+     * Posição logo após o primeiro {@code \n} a partir de {@code position}, ou {@code fim}.
+     */
+    private static long nextLine(FileChannel in, long position, long fim) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < fim) {
+            buffer.clear();
+            int read = in.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return fim;
+    }
+
+    private Resultado processBlock(FileChannel in, long start, long end, Path tmpValidas, Path tmpInvalidas) {
+        try (Saida validas = new Saida(tmpValidas); Saida invalidas = new Saida(tmpInvalidas)) {
+            MappedByteBuffer bytes = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            byte[] campo = new byte[MAX_CAMPO];
+            int limit = bytes.limit();
+            long linhas = 0;
+            long validos = 0;
+            int pos = 0;
+            while (pos < limit) {
+                int eol = indexOf(bytes, (byte) '\n', pos, limit);
+                int next = eol < 0 ? limit : eol + 1;
+                int lineEnd = eol < 0 ? limit : eol;
+                if (lineEnd > pos && bytes.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (isBlank(bytes, pos, lineEnd)) {
+                    pos = next;
+                    continue;
+                }
+                linhas++;
+                long campoPos = locateField(bytes, pos, lineEnd);
+                int fieldStart = (int) (campoPos >>> 32);
+                int fieldEnd = (int) campoPos;
+                int tamanho = copyDocument(bytes, fieldStart, fieldEnd, campo);
+                boolean valido = tamanho > 0 && CpfCnpjValidator.checkCPFCNPJ(campo, 0, tamanho);
+                if (valido) {
+                    validos++;
+                    if (normalizar) {
+                        validas.put(bytes, pos, fieldStart - pos);
+                        writeDigits(validas, campo, tamanho, larguraFixa ? fieldEnd - fieldStart : 0);
+                        validas.put(bytes, fieldEnd, next - fieldEnd);
+                    } else {
+                        validas.put(bytes, pos, next - pos);
+                    }
+                    if (eol < 0) {
+                        validas.put((byte) '\n');
+                    }
+                } else {
+                    invalidas.put(bytes, pos, next - pos);
+                    if (eol < 0) {
+                        invalidas.put((byte) '\n');
+                    }
+                }
+                pos = next;
+            }
+            return new Resultado(linhas, validos, linhas - validos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOf(ByteBuffer bytes, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(ByteBuffer bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes.get(i) != ' ' && bytes.get(i) != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Posição {@code [início, fim)} do campo do documento na linha, codificada como
+     * {@code início << 32 | fim}. Um campo ausente resulta em um intervalo vazio.
+     */
+    private long locateField(ByteBuffer bytes, int lineStart, int lineEnd) {
+        if (larguraFixa) {
+            int fieldStart = Math.min(lineStart + inicio, lineEnd);
+            int fieldEnd = Math.min(fieldStart + largura, lineEnd);
+            return (long) fieldStart << 32 | fieldEnd;
+        }
+        int fieldStart = lineStart;
+        for (int col = 0; col < coluna; col++) {
+            int delimiter = nextDelimiter(bytes, fieldStart, lineEnd);
+            if (delimiter < 0) {
+                return (long) lineEnd << 32 | lineEnd;
+            }
+            fieldStart = delimiter + 1;
+        }
+        int delimiter = nextDelimiter(bytes, fieldStart, lineEnd);
+        int fieldEnd = delimiter < 0 ? lineEnd : delimiter;
+        return (long) fieldStart << 32 | fieldEnd;
+    }
+
+    /**
+     * Próximo delimitador fora de aspas duplas. Cada aspa alterna o trecho entre aspas, de modo que uma aspa
+     * escapada ({@code ""}) não o encerra.
+     */
+    private int nextDelimiter(ByteBuffer bytes, int from, int to) {
+        boolean entreAspas = false;
+        for (int i = from; i < to; i++) {
+            byte b = bytes.get(i);
+            if (b == '"') {
+                entreAspas = !entreAspas;
+            } else if (b == delimitador && !entreAspas) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copia o campo para {@code campo}, sem espaços e aspas nas extremidades.
+     * @return o tamanho copiado, ou {@code 0} se o campo for vazio ou longo demais para ser um documento.
+     */
+    private static int copyDocument(ByteBuffer bytes, int from, int to, byte[] campo) {
+        while (from < to && isTrimmed(bytes.get(from))) {
+            from++;
+        }
+        while (to > from && isTrimmed(bytes.get(to - 1))) {
+            to--;
+        }
+        int tamanho = to - from;
+        if (tamanho > campo.length) {
+            return 0;
+        }
+        bytes.get(from, campo, 0, tamanho);
+        return tamanho;
+    }
+
+    private static boolean isTrimmed(byte b) {
+        return b == ' ' || b == '"' || b == '\t';
+    }
+
+    /**
+     * Grava apenas os dígitos do documento, completando com espaços até {@code largura}.
+     */
+    private static void writeDigits(Saida saida, byte[] campo, int tamanho, int largura) throws IOException {
+        int escritos = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (campo[i] >= '0' && campo[i] <= '9') {
+                saida.put(campo[i]);
+                escritos++;
+            }
+        }
+        for (; escritos < largura; escritos++) {
+            saida.put((byte) ' ');
+        }
+    }
+
+    /**
+     * Arquivo de saída com buffer de tamanho fixo.
+     */
+    private static final class Saida implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER_SAIDA);
+
+        Saida(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void put(byte b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(b);
+        }
+
+        void put(ByteBuffer src, int offset, int length) throws IOException {
+            if (length > buffer.remaining()) {
+                flush();
+            }
+            if (length > buffer.capacity()) {
+                ByteBuffer slice = src.slice(offset, length);
+                while (slice.hasRemaining()) {
+                    channel.write(slice);
+                }
+                return;
+            }
+            buffer.put(buffer.position(), src, offset, length);
+            buffer.position(buffer.position() + length);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.io.IOException;
+
+/**
+ * Formatação de cpf/cnpj com as máscaras pré-compiladas, sem {@code javax.swing.text.MaskFormatter}.
+ * <p>
+ * Cada máscara é uma tabela com os literais nas suas posições e marcadores nas posições de dígito. O
+ * documento é escrito diretamente no {@code char[]}, {@link StringBuilder} ou {@link Appendable} do chamador,
+ * de modo que formatar muitos documentos em um relatório não aloca nada por documento além da própria saída.
+ * <p>
+ * As regras são as do {@code MaskFormatter} usado anteriormente por {@link CpfCnpjUtils}: valores menores que
+ * a máscara são completados com zeros à esquerda, apenas os primeiros dígitos necessários são usados (o
+ * restante do valor é ignorado) e cada um deles deve satisfazer {@link Character#isDigit(char)}. Caso
+ * contrário o valor é inválido: os métodos de {@code char[]} retornam {@code -1} sem escrever nada e os
+ * demais escrevem o valor original, como {@link CpfCnpjUtils#formatCpf(String)}.
+ * <p>
+ * No cnpj alfanumérico as 12 primeiras posições aceitam também letras ASCII, escritas em maiúsculas.
+ */
+public final class CpfCnpjFormatter {
+
+    /** Tamanho do cpf formatado. */
+    public static final int CPF_FORMATTED_LENGTH = 14;
+    /** Tamanho do cnpj formatado. */
+    public static final int CNPJ_FORMATTED_LENGTH = 18;
+
+    /** Posições iniciais do cnpj alfanumérico que aceitam letras. */
+    private static final int POSICOES_ALFANUMERICAS = 12;
+
+    /** Marca uma posição de dígito nas tabelas das máscaras. */
+    private static final char DIGITO = 0;
+
+    private static final char[] CPF_MASK = compile("###.###.###-##");
+    private static final char[] CNPJ_MASK = compile("##.###.###/####-##");
+
+    private CpfCnpjFormatter() {
+        // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
+    }
+
+    private static char[] compile(String mask) {
+        char[] table = mask.toCharArray();
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] == '#') {
+                table[i] = DIGITO;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Formata um cpf em {@code dest} a partir de {@code offset}.
+     * @return a quantidade de caracteres escritos ({@value #CPF_FORMATTED_LENGTH}) ou {@code -1} se o valor
+     * for inválido.
+     */
+    public static int formatCpf(CharSequence value, char[] dest, int offset) {
+        return format(value, CPF_MASK, CpfCnpjUtils.CPF_DOC_LENGTH, 0, dest, offset);
+    }
+
+    /**
+     * Formata um cnpj em {@code dest} a partir de {@code offset}.
+     * @return a quantidade de caracteres escritos ({@value #CNPJ_FORMATTED_LENGTH}) ou {@code -1} se o
+     * valor for inválido.
+     */
+    public static int formatCnpj(CharSequence value, char[] dest, int offset) {
+        return format(value, CNPJ_MASK, CpfCnpjUtils.CNPJ_DOC_LENGTH, 0, dest, offset);
+    }
+
+    /**
+     * Formata como cnpj se o valor tiver 14 caracteres e como cpf nos demais casos, em {@code dest} a partir
+     * de {@code offset}.
+     * @return a quantidade de caracteres escritos ou {@code -1} se o valor for inválido.
+     */
+    public static int formatCpfCnpj(CharSequence value, char[] dest, int offset) {
+        return isCnpjLength(value) ? formatCnpj(value, dest, offset) : formatCpf(value, dest, offset);
+    }
+
+    /**
+     * Acrescenta o cpf formatado, ou o valor original se ele for inválido.
+     * @return {@code true} se o valor foi formatado.
+     */
+    public static boolean formatCpf(CharSequence value, StringBuilder out) {
+        return append(value, CPF_MASK, CpfCnpjUtils.CPF_DOC_LENGTH, 0, out);
+    }
+
+    /**
+     * Acrescenta o cnpj formatado, ou o valor original se ele for inválido.
+     * @return {@code true} se o valor foi formatado.
+     */
+    public static boolean formatCnpj(CharSequence value, StringBuilder out) {
+        return append(value, CNPJ_MASK, CpfCnpjUtils.CNPJ_DOC_LENGTH, 0, out);
+    }
+
+    /**
+     * Acrescenta o cpf ou cnpj formatado (cnpj se o valor tiver 14 caracteres), ou o valor original se ele
+     * for inválido.
+     * @return {@code true} se o valor foi formatado.
+     */
+    public static boolean formatCpfCnpj(CharSequence value, StringBuilder out) {
+        return isCnpjLength(value) ? formatCnpj(value, out) : formatCpf(value, out);
+    }
+
+    /**
+     * Acrescenta o cpf ou cnpj formatado (cnpj se o valor tiver 14 caracteres), ou o valor original se ele
+     * for inválido.
+     * @return {@code true} se o valor foi formatado.
+     * @throws IOException se o {@link Appendable} lançar.
+     */
+    public static boolean formatCpfCnpj(CharSequence value, Appendable out) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            return formatCpfCnpj(value, builder);
+        }
+        boolean cnpj = isCnpjLength(value);
+        return append(value, cnpj ? CNPJ_MASK : CPF_MASK,
+                cnpj ? CpfCnpjUtils.CNPJ_DOC_LENGTH : CpfCnpjUtils.CPF_DOC_LENGTH, 0, out);
+    }
+
+    /**
+     * Formata um cnpj numérico ou alfanumérico em {@code dest} a partir de {@code offset}.
+     * @return a quantidade de caracteres escritos ({@value #CNPJ_FORMATTED_LENGTH}) ou {@code -1} se o
+     * valor for inválido.
+     */
+    public static int formatCnpjAlfanumerico(CharSequence value, char[] dest, int offset) {
+        return format(value, CNPJ_MASK, CpfCnpjUtils.CNPJ_DOC_LENGTH, POSICOES_ALFANUMERICAS, dest, offset);
+    }
+
+    /**
+     * Acrescenta o cnpj numérico ou alfanumérico formatado, ou o valor original se ele for inválido.
+     * @return {@code true} se o valor foi formatado.
+     */
+    public static boolean formatCnpjAlfanumerico(CharSequence value, StringBuilder out) {
+        return append(value, CNPJ_MASK, CpfCnpjUtils.CNPJ_DOC_LENGTH, POSICOES_ALFANUMERICAS, out);
+    }
+
+    private static boolean isCnpjLength(CharSequence value) {
+        return value != null && value.length() == CpfCnpjUtils.CNPJ_DOC_LENGTH;
+    }
+
+    /**
+     * Quantidade de zeros à esquerda a completar, ou {@code -1} se algum dos caracteres usados for inválido.
+     * As primeiras {@code alphanumeric} posições aceitam também letras ASCII.
+     */
+    private static int padding(CharSequence value, int digits, int alphanumeric) {
+        int length = value == null ? 0 : value.length();
+        int pad = Math.max(0, digits - length);
+        for (int i = pad; i < digits; i++) {
+            char c = value.charAt(i - pad);
+            if (!Character.isDigit(c) && !(i < alphanumeric && isAsciiLetter(c))) {
+                return -1;
+            }
+        }
+        return pad;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * Caractere da posição {@code digit} do documento, com os zeros à esquerda e as letras em maiúsculas.
+     */
+    private static char charAt(CharSequence value, int digit, int pad) {
+        if (digit < pad) {
+            return '0';
+        }
+        char c = value.charAt(digit - pad);
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    private static int format(CharSequence value, char[] mask, int digits, int alphanumeric, char[] dest, int offset) {
+        int pad = padding(value, digits, alphanumeric);
+        if (pad < 0) {
+            return -1;
+        }
+        int digit = 0;
+        for (int i = 0; i < mask.length; i++) {
+            if (mask[i] == DIGITO) {
+                dest[offset + i] = charAt(value, digit, pad);
+                digit++;
+            } else {
+                dest[offset + i] = mask[i];
+            }
+        }
+        return mask.length;
+    }
+
+    private static boolean append(CharSequence value, char[] mask, int digits, int alphanumeric, StringBuilder out) {
+        int pad = padding(value, digits, alphanumeric);
+        if (pad < 0) {
+            out.append(value);
+            return false;
+        }
+        int digit = 0;
+        for (char c : mask) {
+            if (c == DIGITO) {
+                out.append(charAt(value, digit, pad));
+                digit++;
+            } else {
+                out.append(c);
+            }
+        }
+        return true;
+    }
+
+    private static boolean append(CharSequence value, char[] mask, int digits, int alphanumeric, Appendable out)
+            throws IOException {
+        int pad = padding(value, digits, alphanumeric);
+        if (pad < 0) {
+            out.append(value);
+            return false;
+        }
+        int digit = 0;
+        for (char c : mask) {
+            if (c == DIGITO) {
+                out.append(charAt(value, digit, pad));
+                digit++;
+            } else {
+                out.append(c);
+            }
+        }
+        return true;
+    }
+}
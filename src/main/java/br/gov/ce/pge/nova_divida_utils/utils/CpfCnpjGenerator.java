@@ -0,0 +1,138 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.nio.CharBuffer;
+import java.util.stream.Stream;
+
+/**
+ * Gerador de cpfs e cnpjs sintéticos, válidos ou propositalmente inválidos, para testes de carga.
+ * <p>
+ * A sequência é reprodutível: a mesma semente gera sempre os mesmos documentos. Os números vêm de um
+ * SplitMix64 mantido em um {@code long} e os dígitos verificadores são calculados com aritmética de
+ * inteiros ({@link CpfCnpjValidator#cpfCheckDigits(long)}); os métodos que escrevem em {@code char[]} não
+ * alocam nada, permitindo reaproveitar o mesmo buffer a cada documento.
+ * <p>
+ * Os documentos inválidos têm os dígitos verificadores trocados por outros, sempre diferentes dos corretos.
+ * As instâncias não são thread-safe: use uma por thread (por exemplo, com sementes derivadas).
+ */
+public final class CpfCnpjGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long CPF_BASES = 1_000_000_000L;
+    private static final long CNPJ_BASES = 1_000_000_000_000L;
+
+    private long state;
+
+    /** Dígitos do documento a formatar, reaproveitados a cada chamada. */
+    private final char[] digitos = new char[CpfCnpjUtils.CNPJ_DOC_LENGTH];
+    private final CharBuffer digitosView = CharBuffer.wrap(digitos);
+
+    public CpfCnpjGenerator(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Próximo cpf válido, como número (sem os zeros à esquerda).
+     */
+    public long nextCpf() {
+        return nextCpf(true);
+    }
+
+    /**
+     * Próximo cnpj válido, como número (sem os zeros à esquerda).
+     */
+    public long nextCnpj() {
+        return nextCnpj(true);
+    }
+
+    /**
+     * Próximo cpf, válido ou com os dígitos verificadores incorretos.
+     */
+    public long nextCpf(boolean valido) {
+        long base;
+        do {
+            base = Long.remainderUnsigned(nextLong(), CPF_BASES);
+        } while (hasEqualDigits(base));
+        return base * 100 + checkDigits(CpfCnpjValidator.cpfCheckDigits(base), valido);
+    }
+
+    /**
+     * Próximo cnpj, válido ou com os dígitos verificadores incorretos.
+     */
+    public long nextCnpj(boolean valido) {
+        long base;
+        do {
+            base = Long.remainderUnsigned(nextLong(), CNPJ_BASES);
+        } while (base == 0);
+        return base * 100 + checkDigits(CpfCnpjValidator.cnpjCheckDigits(base), valido);
+    }
+
+    /**
+     * Escreve o próximo documento em {@code dest} a partir de {@code offset}.
+     * @param tipo Tipo do documento.
+     * @param valido Se o documento deve ser válido.
+     * @param formatado Se o documento deve ser escrito com a máscara ({@code 000.000.001-91}).
+     * @return a quantidade de caracteres escritos.
+     */
+    public int next(Documento.Tipo tipo, boolean valido, boolean formatado, char[] dest, int offset) {
+        boolean cpf = tipo == Documento.Tipo.CPF;
+        long numero = cpf ? nextCpf(valido) : nextCnpj(valido);
+        int length = tipo.getDigitos();
+        if (!formatado) {
+            writeDigits(numero, dest, offset, length);
+            return length;
+        }
+        writeDigits(numero, digitos, 0, length);
+        digitosView.clear().limit(length);
+        return cpf ? CpfCnpjFormatter.formatCpf(digitosView, dest, offset)
+                : CpfCnpjFormatter.formatCnpj(digitosView, dest, offset);
+    }
+
+    /**
+     * Próximo documento como {@code String}.
+     */
+    public String next(Documento.Tipo tipo, boolean valido, boolean formatado) {
+        char[] chars = new char[CpfCnpjFormatter.CNPJ_FORMATTED_LENGTH];
+        return new String(chars, 0, next(tipo, valido, formatado, chars, 0));
+    }
+
+    /**
+     * Sequência infinita e reprodutível de documentos, a partir do estado atual do gerador. Use
+     * {@link Stream#limit(long)} para definir a quantidade.
+     */
+    public Stream<String> stream(Documento.Tipo tipo, boolean valido, boolean formatado) {
+        return Stream.generate(() -> next(tipo, valido, formatado));
+    }
+
+    private long checkDigits(int corretos, boolean valido) {
+        if (valido) {
+            return corretos;
+        }
+        // Soma de 1 a 99 (módulo 100): nunca resulta nos dígitos corretos.
+        return (corretos + 1 + Long.remainderUnsigned(nextLong(), 99)) % 100;
+    }
+
+    /**
+     * Bases com todos os dígitos iguais geram cpfs rejeitados pela validação mesmo com os verificadores
+     * corretos.
+     */
+    private static boolean hasEqualDigits(long base) {
+        return base % 111_111_111L == 0;
+    }
+
+    private static void writeDigits(long numero, char[] dest, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            dest[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+    }
+
+    /**
+     * SplitMix64.
+     */
+    private long nextLong() {
+        long z = state += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
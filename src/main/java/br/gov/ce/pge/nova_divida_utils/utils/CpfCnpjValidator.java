@@ -0,0 +1,474 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.util.Arrays;
+
+/**
+ * Validação de cpf/cnpj sem alocação de memória.
+ * <p>
+ * O documento é percorrido uma única vez, diretamente sobre o {@link CharSequence}, {@code char[]} ou
+ * {@code byte[]} de origem. Os caracteres de formatação (' ', '.', '-' e '/') são ignorados durante a
+ * leitura e os dígitos são acumulados em um {@code long} (4 bits por dígito), a partir do qual os dois
+ * dígitos verificadores são calculados com aritmética de inteiros. Nenhum objeto é criado.
+ * <p>
+ * Os resultados são os mesmos de {@link CpfCnpjUtils#checkCPF(String)} e
+ * {@link CpfCnpjUtils#checkCNPJ(String)}, inclusive para dígitos Unicode aceitos por
+ * {@link Character#digit(char, int)} e para o cnpj com todos os dígitos iguais a zero.
+ * <p>
+ * O cnpj alfanumérico da Receita Federal (12 caracteres {@code [0-9A-Z]} seguidos de 2 dígitos
+ * verificadores) é validado por {@link #checkCNPJAlfanumerico(CharSequence)}: o valor de cada caractere
+ * ({@code código ASCII - 48}) vem de uma tabela pré-calculada e as somas ponderadas do módulo 11 são
+ * acumuladas durante a própria leitura, sem exceções nem expressões regulares. Cnpjs numéricos (com dígitos
+ * ASCII) são um caso particular e têm o mesmo resultado de {@link #checkCNPJ(CharSequence)}.
+ */
+public final class CpfCnpjValidator {
+
+    /** Resultado da leitura de um texto que contém caracteres que não são dígitos nem formatação. */
+    private static final long INVALIDO = -1L;
+
+    private static final int BITS_DIGITO = 4;
+    private static final int SHIFT_QUANTIDADE = 56;
+    private static final long MASCARA_DIGITOS = (1L << SHIFT_QUANTIDADE) - 1;
+    /** Marca, no valor acumulado, que ao menos um dígito não é ASCII ('0' a '9'). */
+    private static final long NAO_ASCII = 1L << 60;
+
+    private static final int[] CPF_PESOS_1 = {10, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] CPF_PESOS_2 = {11, 10, 9, 8, 7, 6, 5, 4, 3};
+    private static final int[] CNPJ_PESOS_1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] CNPJ_PESOS_2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3};
+
+    /**
+     * Valor de cada caractere ASCII no cálculo do cnpj alfanumérico ({@code código - 48}), ou {@code -1}.
+     * Letras minúsculas valem o mesmo que as maiúsculas.
+     */
+    private static final byte[] VALORES_ALFANUMERICOS = new byte[128];
+
+    static {
+        Arrays.fill(VALORES_ALFANUMERICOS, (byte) -1);
+        for (char c = '0'; c <= '9'; c++) {
+            VALORES_ALFANUMERICOS[c] = (byte) (c - '0');
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            VALORES_ALFANUMERICOS[c] = (byte) (c - '0');
+            VALORES_ALFANUMERICOS[Character.toLowerCase(c)] = (byte) (c - '0');
+        }
+    }
+
+    /*
+     * Estado da leitura de um cnpj alfanumérico, em um long: soma 1 (bits 0-15), soma 2 (16-31), quantidade
+     * de caracteres (32-39), primeiro e segundo dígitos verificadores (40-43 e 44-47) e se algum valor é
+     * diferente de zero (48).
+     */
+    private static final int SHIFT_SOMA_2 = 16;
+    private static final int SHIFT_QUANTIDADE_ALFA = 32;
+    private static final int SHIFT_DV1 = 40;
+    private static final int SHIFT_DV2 = 44;
+    private static final long NAO_ZERO = 1L << 48;
+
+    private CpfCnpjValidator() {
+        // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
+    }
+
+    /**
+     * Valida um cpf ou um cnpj, determinando o tipo pela quantidade de caracteres que não são de formatação.
+     * @param cpfCnpj Número de cpf ou cnpj, com ou sem formatação.
+     * @return <code>true</code> se o número for um cpf ou cnpj válido, <code>false</code> caso contrário.
+     */
+    public static boolean checkCPFCNPJ(CharSequence cpfCnpj) {
+        return cpfCnpj != null && isCpfOrCnpj(pack(cpfCnpj, 0, cpfCnpj.length()));
+    }
+
+    /**
+     * Valida um cpf, com ou sem formatação.
+     * @param cpf Número de cpf.
+     * @return <code>true</code> se o cpf for válido, <code>false</code> caso contrário.
+     */
+    public static boolean checkCPF(CharSequence cpf) {
+        return cpf != null && isCpf(pack(cpf, 0, cpf.length()));
+    }
+
+    /**
+     * Valida um cpf contido no trecho {@code [start, end)} do texto.
+     */
+    public static boolean checkCPF(CharSequence text, int start, int end) {
+        return isCpf(pack(text, start, end));
+    }
+
+    /**
+     * Valida um cpf contido em {@code length} caracteres a partir de {@code offset}.
+     */
+    public static boolean checkCPF(char[] chars, int offset, int length) {
+        return isCpf(pack(chars, offset, offset + length));
+    }
+
+    /**
+     * Valida um cpf contido em {@code length} bytes (ASCII/ISO-8859-1) a partir de {@code offset}.
+     */
+    public static boolean checkCPF(byte[] bytes, int offset, int length) {
+        return isCpf(pack(bytes, offset, offset + length));
+    }
+
+    /**
+     * Valida um cnpj, com ou sem formatação.
+     * @param cnpj Número de cnpj.
+     * @return <code>true</code> se o cnpj for válido, <code>false</code> caso contrário.
+     */
+    public static boolean checkCNPJ(CharSequence cnpj) {
+        return cnpj != null && isCnpj(pack(cnpj, 0, cnpj.length()));
+    }
+
+    /**
+     * Valida um cnpj contido no trecho {@code [start, end)} do texto.
+     */
+    public static boolean checkCNPJ(CharSequence text, int start, int end) {
+        return isCnpj(pack(text, start, end));
+    }
+
+    /**
+     * Valida um cnpj contido em {@code length} caracteres a partir de {@code offset}.
+     */
+    public static boolean checkCNPJ(char[] chars, int offset, int length) {
+        return isCnpj(pack(chars, offset, offset + length));
+    }
+
+    /**
+     * Valida um cnpj contido em {@code length} bytes (ASCII/ISO-8859-1) a partir de {@code offset}.
+     */
+    public static boolean checkCNPJ(byte[] bytes, int offset, int length) {
+        return isCnpj(pack(bytes, offset, offset + length));
+    }
+
+    /**
+     * Valida um cpf ou cnpj contido em {@code length} caracteres a partir de {@code offset}.
+     */
+    public static boolean checkCPFCNPJ(char[] chars, int offset, int length) {
+        return isCpfOrCnpj(pack(chars, offset, offset + length));
+    }
+
+    /**
+     * Valida um cpf ou cnpj contido em {@code length} bytes (ASCII/ISO-8859-1) a partir de {@code offset}.
+     */
+    public static boolean checkCPFCNPJ(byte[] bytes, int offset, int length) {
+        return isCpfOrCnpj(pack(bytes, offset, offset + length));
+    }
+
+    /**
+     * Valida um cnpj numérico ou alfanumérico, com ou sem formatação.
+     * @param cnpj Número de cnpj.
+     * @return <code>true</code> se o cnpj for válido, <code>false</code> caso contrário.
+     */
+    public static boolean checkCNPJAlfanumerico(CharSequence cnpj) {
+        if (cnpj == null) {
+            return false;
+        }
+        long state = 0;
+        for (int i = 0, length = cnpj.length(); i < length && state != INVALIDO; i++) {
+            state = appendAlfanumerico(state, cnpj.charAt(i));
+        }
+        return isCnpjAlfanumerico(state);
+    }
+
+    /**
+     * Valida um cnpj numérico ou alfanumérico contido em {@code length} caracteres a partir de {@code offset}.
+     */
+    public static boolean checkCNPJAlfanumerico(char[] chars, int offset, int length) {
+        long state = 0;
+        for (int i = offset, end = offset + length; i < end && state != INVALIDO; i++) {
+            state = appendAlfanumerico(state, chars[i]);
+        }
+        return isCnpjAlfanumerico(state);
+    }
+
+    /**
+     * Valida um cnpj numérico ou alfanumérico contido em {@code length} bytes (ASCII) a partir de {@code offset}.
+     */
+    public static boolean checkCNPJAlfanumerico(byte[] bytes, int offset, int length) {
+        long state = 0;
+        for (int i = offset, end = offset + length; i < end && state != INVALIDO; i++) {
+            state = appendAlfanumerico(state, (char) (bytes[i] & 0xFF));
+        }
+        return isCnpjAlfanumerico(state);
+    }
+
+    /**
+     * Valida um cpf ou um cnpj numérico ou alfanumérico. Textos com 11 dígitos são validados como cpf.
+     * @param cpfCnpj Número de cpf ou cnpj, com ou sem formatação.
+     * @return <code>true</code> se o número for um cpf ou cnpj válido, <code>false</code> caso contrário.
+     */
+    public static boolean checkCPFCNPJAlfanumerico(CharSequence cpfCnpj) {
+        if (cpfCnpj == null) {
+            return false;
+        }
+        // Uma única passada alimenta as duas leituras; o tipo é decidido pela quantidade de caracteres lidos.
+        long packed = 0;
+        long state = 0;
+        for (int i = 0, length = cpfCnpj.length(); i < length && (packed != INVALIDO || state != INVALIDO); i++) {
+            char c = cpfCnpj.charAt(i);
+            if (packed != INVALIDO) {
+                packed = append(packed, c);
+            }
+            if (state != INVALIDO) {
+                state = appendAlfanumerico(state, c);
+            }
+        }
+        if (packed != INVALIDO && count(packed) == CpfCnpjUtils.CPF_DOC_LENGTH) {
+            return isCpf(packed);
+        }
+        return isCnpjAlfanumerico(state);
+    }
+
+    /**
+     * Acrescenta um caractere à leitura do cnpj alfanumérico: as 12 primeiras posições aceitam letras e
+     * dígitos e as 2 últimas, apenas dígitos (os verificadores).
+     */
+    private static long appendAlfanumerico(long state, char c) {
+        if (c == ' ' || c == '.' || c == '-' || c == '/') {
+            return state;
+        }
+        int value = c < 128 ? VALORES_ALFANUMERICOS[c] : -1;
+        int position = (int) (state >>> SHIFT_QUANTIDADE_ALFA) & 0xFF;
+        if (value < 0 || position >= CpfCnpjUtils.CNPJ_DOC_LENGTH || (position >= 12 && value > 9)) {
+            return INVALIDO;
+        }
+        long next = state + (1L << SHIFT_QUANTIDADE_ALFA) | (value != 0 ? NAO_ZERO : 0);
+        if (position < 12) {
+            return next + value * CNPJ_PESOS_1[position] + ((long) value * CNPJ_PESOS_2[position] << SHIFT_SOMA_2);
+        }
+        if (position == 12) {
+            return next | (long) value << SHIFT_DV1;
+        }
+        return next | (long) value << SHIFT_DV2;
+    }
+
+    private static boolean isCnpjAlfanumerico(long state) {
+        if (state == INVALIDO || ((state >>> SHIFT_QUANTIDADE_ALFA) & 0xFF) != CpfCnpjUtils.CNPJ_DOC_LENGTH
+                || (state & NAO_ZERO) == 0) {
+            return false;
+        }
+        int sum1 = (int) (state & 0xFFFF);
+        int sum2 = (int) ((state >>> SHIFT_SOMA_2) & 0xFFFF);
+        int dv1 = (int) ((state >>> SHIFT_DV1) & 0xF);
+        int dv2 = (int) ((state >>> SHIFT_DV2) & 0xF);
+        return checkDigitCnpj(sum1) == dv1 && checkDigitCnpj(sum2 + dv1 * 2) == dv2;
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um cpf.
+     * @param base Os 9 primeiros dígitos do cpf (0 a 999999999).
+     * @return os dois dígitos verificadores, como um número de 0 a 99.
+     * @throws IllegalArgumentException se a base estiver fora do intervalo.
+     */
+    public static int cpfCheckDigits(long base) {
+        if (base < 0 || base > 999_999_999L) {
+            throw new IllegalArgumentException("Base de cpf deve ter até 9 dígitos: " + base);
+        }
+        int sum1 = 0;
+        int sum2 = 0;
+        long rest = base;
+        for (int i = 8; i >= 0; i--) {
+            int d = (int) (rest % 10);
+            rest /= 10;
+            sum1 += d * CPF_PESOS_1[i];
+            sum2 += d * CPF_PESOS_2[i];
+        }
+        int d1 = checkDigitCpf(sum1);
+        return d1 * 10 + checkDigitCpf(sum2 + d1 * 2);
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um cnpj numérico.
+     * @param base Os 12 primeiros dígitos do cnpj (0 a 999999999999).
+     * @return os dois dígitos verificadores, como um número de 0 a 99.
+     * @throws IllegalArgumentException se a base estiver fora do intervalo.
+     */
+    public static int cnpjCheckDigits(long base) {
+        if (base < 0 || base > 999_999_999_999L) {
+            throw new IllegalArgumentException("Base de cnpj deve ter até 12 dígitos: " + base);
+        }
+        int sum1 = 0;
+        int sum2 = 0;
+        long rest = base;
+        for (int i = 11; i >= 0; i--) {
+            int d = (int) (rest % 10);
+            rest /= 10;
+            sum1 += d * CNPJ_PESOS_1[i];
+            sum2 += d * CNPJ_PESOS_2[i];
+        }
+        int d1 = checkDigitCnpj(sum1);
+        return d1 * 10 + checkDigitCnpj(sum2 + d1 * 2);
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um cnpj numérico ou alfanumérico.
+     * @param base Os 12 primeiros caracteres do cnpj ({@code [0-9A-Za-z]}), sem formatação.
+     * @return os dois dígitos verificadores, como um número de 0 a 99.
+     * @throws IllegalArgumentException se a base não tiver 12 caracteres válidos.
+     */
+    public static int cnpjCheckDigits(CharSequence base) {
+        if (base == null || base.length() != 12) {
+            throw new IllegalArgumentException("Base de cnpj deve ter 12 caracteres: " + base);
+        }
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0; i < 12; i++) {
+            char c = base.charAt(i);
+            int value = c < 128 ? VALORES_ALFANUMERICOS[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Caractere inválido na base do cnpj: " + base);
+            }
+            sum1 += value * CNPJ_PESOS_1[i];
+            sum2 += value * CNPJ_PESOS_2[i];
+        }
+        int d1 = checkDigitCnpj(sum1);
+        return d1 * 10 + checkDigitCnpj(sum2 + d1 * 2);
+    }
+
+    /**
+     * Valor numérico do cpf ({@code cnpj == false}) ou cnpj contido no texto, ou {@code -1} se o documento
+     * não for válido.
+     */
+    static long numericValue(CharSequence text, boolean cnpj) {
+        long packed = pack(text, 0, text.length());
+        if (cnpj ? !isCnpj(packed) : !isCpf(packed)) {
+            return -1;
+        }
+        int count = count(packed);
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + digit(packed, i, count);
+        }
+        return value;
+    }
+
+    private static long pack(CharSequence text, int start, int end) {
+        long packed = 0;
+        for (int i = start; i < end; i++) {
+            packed = append(packed, text.charAt(i));
+            if (packed == INVALIDO) {
+                return INVALIDO;
+            }
+        }
+        return packed;
+    }
+
+    private static long pack(char[] chars, int start, int end) {
+        long packed = 0;
+        for (int i = start; i < end; i++) {
+            packed = append(packed, chars[i]);
+            if (packed == INVALIDO) {
+                return INVALIDO;
+            }
+        }
+        return packed;
+    }
+
+    private static long pack(byte[] bytes, int start, int end) {
+        long packed = 0;
+        for (int i = start; i < end; i++) {
+            packed = append(packed, (char) (bytes[i] & 0xFF));
+            if (packed == INVALIDO) {
+                return INVALIDO;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Acrescenta o caractere ao valor acumulado: ignora formatação e rejeita qualquer outro não-dígito,
+     * assim como documentos com mais dígitos que um cnpj.
+     */
+    private static long append(long packed, char c) {
+        if (c == ' ' || c == '.' || c == '-' || c == '/') {
+            return packed;
+        }
+        int digit = Character.digit(c, 10);
+        int count = count(packed);
+        if (digit < 0 || count == CpfCnpjUtils.CNPJ_DOC_LENGTH) {
+            return INVALIDO;
+        }
+        long flags = (packed & NAO_ASCII) | (c > '9' ? NAO_ASCII : 0);
+        long digits = (packed & MASCARA_DIGITOS) << BITS_DIGITO | digit;
+        return flags | (long) (count + 1) << SHIFT_QUANTIDADE | digits;
+    }
+
+    private static int count(long packed) {
+        return (int) (packed >>> SHIFT_QUANTIDADE) & 0xF;
+    }
+
+    /**
+     * Dígito da posição {@code index} (a partir do primeiro dígito lido) de um documento com {@code count} dígitos.
+     */
+    private static int digit(long packed, int index, int count) {
+        return (int) (packed >>> (BITS_DIGITO * (count - 1 - index))) & 0xF;
+    }
+
+    private static boolean isCpfOrCnpj(long packed) {
+        if (packed == INVALIDO) {
+            return false;
+        }
+        int count = count(packed);
+        if (count == CpfCnpjUtils.CPF_DOC_LENGTH) {
+            return isCpf(packed);
+        }
+        return count == CpfCnpjUtils.CNPJ_DOC_LENGTH && isCnpj(packed);
+    }
+
+    private static boolean isCpf(long packed) {
+        int n = CpfCnpjUtils.CPF_DOC_LENGTH;
+        if (packed == INVALIDO || count(packed) != n) {
+            return false;
+        }
+        int first = digit(packed, 0, n);
+        boolean allEqual = true;
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int d = digit(packed, i, n);
+            sum1 += d * CPF_PESOS_1[i];
+            sum2 += d * CPF_PESOS_2[i];
+            allEqual &= d == first;
+        }
+        int d1 = checkDigitCpf(sum1);
+        if (digit(packed, 9, n) != d1) {
+            return false;
+        }
+        int d2 = checkDigitCpf(sum2 + d1 * 2);
+        if (digit(packed, 10, n) != d2) {
+            return false;
+        }
+        // Cpf com todos os dígitos iguais.
+        return !(allEqual && d1 == first && d2 == first);
+    }
+
+    private static int checkDigitCpf(int sum) {
+        int digit = 11 - (sum % 11);
+        return digit > 9 ? 0 : digit;
+    }
+
+    private static boolean isCnpj(long packed) {
+        int n = CpfCnpjUtils.CNPJ_DOC_LENGTH;
+        if (packed == INVALIDO || count(packed) != n) {
+            return false;
+        }
+        // "00000000000000" é rejeitado; zeros de outros alfabetos seguem para o cálculo, como na regra original.
+        if ((packed & MASCARA_DIGITOS) == 0 && (packed & NAO_ASCII) == 0) {
+            return false;
+        }
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0; i < 12; i++) {
+            int d = digit(packed, i, n);
+            sum1 += d * CNPJ_PESOS_1[i];
+            sum2 += d * CNPJ_PESOS_2[i];
+        }
+        int d12 = digit(packed, 12, n);
+        if (checkDigitCnpj(sum1) != d12) {
+            return false;
+        }
+        return checkDigitCnpj(sum2 + d12 * 2) == digit(packed, 13, n);
+    }
+
+    private static int checkDigitCnpj(int sum) {
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+}
@@ -0,0 +1,228 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Optional;
+
+/**
+ * Cpf ou cnpj válido, armazenado como um único {@code long} mais o tipo do documento.
+ * <p>
+ * O texto é lido e validado uma única vez, na criação (pelas regras de {@link CpfCnpjValidator}); a partir
+ * daí {@link #equals(Object)} e {@link #hashCode()} são O(1) e {@link #format()}/{@link #toDigits()}
+ * montam o texto diretamente a partir do número, com a máscara de {@link CpfCnpjFormatter}.
+ * <p>
+ * {@link #toKey()} e {@link #toBytes()} produzem uma codificação que preserva a ordem de
+ * {@link #compareTo(Documento)} (primeiro o tipo, depois o número), adequada para chaves de cache ou de banco
+ * de dados: a comparação dos {@code long} com sinal ou dos bytes sem sinal, em ordem lexicográfica, resulta
+ * na mesma ordem dos documentos.
+ */
+public final class Documento implements Comparable<Documento> {
+
+    /** Tipo do documento. */
+    public enum Tipo {
+        CPF(CpfCnpjUtils.CPF_DOC_LENGTH),
+        CNPJ(CpfCnpjUtils.CNPJ_DOC_LENGTH);
+
+        private final int digitos;
+        private final long limite;
+
+        Tipo(int digitos) {
+            this.digitos = digitos;
+            this.limite = (long) Math.pow(10, digitos);
+        }
+
+        /** Quantidade de dígitos do documento. */
+        public int getDigitos() {
+            return digitos;
+        }
+    }
+
+    /** Tamanho, em bytes, de {@link #toBytes()}. */
+    public static final int BYTES = Long.BYTES;
+
+    private static final int SHIFT_TIPO = 56;
+    private static final long MASCARA_NUMERO = (1L << SHIFT_TIPO) - 1;
+
+    private final long numero;
+    private final Tipo tipo;
+
+    private Documento(long numero, Tipo tipo) {
+        this.numero = numero;
+        this.tipo = tipo;
+    }
+
+    /**
+     * Cria o documento a partir de um cpf ou cnpj, com ou sem formatação. O tipo é determinado pela
+     * quantidade de dígitos.
+     * @param cpfCnpj Número de cpf ou cnpj.
+     * @return o documento.
+     * @throws IllegalArgumentException se o número não for um cpf ou cnpj válido.
+     */
+    public static Documento parse(CharSequence cpfCnpj) {
+        return tryParse(cpfCnpj).orElseThrow(() -> new IllegalArgumentException("Cpf/cnpj inválido: " + cpfCnpj));
+    }
+
+    /**
+     * Cria o documento a partir de um cpf ou cnpj, com ou sem formatação.
+     * @param cpfCnpj Número de cpf ou cnpj.
+     * @return o documento, ou vazio se o número for nulo ou não for um cpf ou cnpj válido.
+     */
+    public static Optional<Documento> tryParse(CharSequence cpfCnpj) {
+        if (cpfCnpj == null) {
+            return Optional.empty();
+        }
+        long cpf = CpfCnpjValidator.numericValue(cpfCnpj, false);
+        if (cpf >= 0) {
+            return Optional.of(new Documento(cpf, Tipo.CPF));
+        }
+        long cnpj = CpfCnpjValidator.numericValue(cpfCnpj, true);
+        // O cnpj zero só é aceito pela validação quando escrito com dígitos não ASCII; não é um documento real.
+        return cnpj > 0 ? Optional.of(new Documento(cnpj, Tipo.CNPJ)) : Optional.empty();
+    }
+
+    /**
+     * Cria o documento a partir de um cpf, com ou sem formatação.
+     * @throws IllegalArgumentException se o número não for um cpf válido.
+     */
+    public static Documento parseCpf(CharSequence cpf) {
+        return parse(cpf, Tipo.CPF);
+    }
+
+    /**
+     * Cria o documento a partir de um cnpj, com ou sem formatação.
+     * @throws IllegalArgumentException se o número não for um cnpj válido.
+     */
+    public static Documento parseCnpj(CharSequence cnpj) {
+        return parse(cnpj, Tipo.CNPJ);
+    }
+
+    private static Documento parse(CharSequence text, Tipo tipo) {
+        long numero = text == null ? -1 : CpfCnpjValidator.numericValue(text, tipo == Tipo.CNPJ);
+        if (numero <= 0) {
+            throw new IllegalArgumentException(tipo + " inválido: " + text);
+        }
+        return new Documento(numero, tipo);
+    }
+
+    /**
+     * Reconstrói o documento a partir de {@link #toKey()}.
+     * @throws IllegalArgumentException se a chave não corresponder a um documento válido.
+     */
+    public static Documento fromKey(long key) {
+        int ordinal = (int) (key >>> SHIFT_TIPO);
+        if (ordinal >= Tipo.values().length) {
+            throw new IllegalArgumentException("Chave de documento inválida: " + key);
+        }
+        Tipo tipo = Tipo.values()[ordinal];
+        long numero = key & MASCARA_NUMERO;
+        if (numero == 0 || numero >= tipo.limite) {
+            throw new IllegalArgumentException("Chave de documento inválida: " + key);
+        }
+        Documento documento = new Documento(numero, tipo);
+        char[] digitos = documento.digits();
+        boolean valido = tipo == Tipo.CPF
+                ? CpfCnpjValidator.checkCPF(digitos, 0, digitos.length)
+                : CpfCnpjValidator.checkCNPJ(digitos, 0, digitos.length);
+        if (!valido) {
+            throw new IllegalArgumentException("Chave de documento inválida: " + key);
+        }
+        return documento;
+    }
+
+    /**
+     * Reconstrói o documento a partir de {@link #toBytes()}.
+     * @throws IllegalArgumentException se os bytes não corresponderem a um documento válido.
+     */
+    public static Documento fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("Chave de documento deve ter " + BYTES + " bytes");
+        }
+        return fromKey(ByteBuffer.wrap(bytes).getLong());
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /** Número do documento, sem os zeros à esquerda. */
+    public long getNumero() {
+        return numero;
+    }
+
+    public boolean isCpf() {
+        return tipo == Tipo.CPF;
+    }
+
+    public boolean isCnpj() {
+        return tipo == Tipo.CNPJ;
+    }
+
+    /**
+     * Documento formatado: {@code 000.000.001-91} ou {@code 44.679.387/0001-20}.
+     */
+    public String format() {
+        CharBuffer digitos = CharBuffer.wrap(digits());
+        char[] chars = new char[CpfCnpjFormatter.CNPJ_FORMATTED_LENGTH];
+        int length = isCpf() ? CpfCnpjFormatter.formatCpf(digitos, chars, 0) : CpfCnpjFormatter.formatCnpj(digitos, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Dígitos do documento, com os zeros à esquerda: {@code 00000000191} ou {@code 44679387000120}.
+     */
+    public String toDigits() {
+        return new String(digits());
+    }
+
+    private char[] digits() {
+        char[] chars = new char[tipo.digitos];
+        long resto = numero;
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + resto % 10);
+            resto /= 10;
+        }
+        return chars;
+    }
+
+    /**
+     * Chave que preserva a ordem de {@link #compareTo(Documento)}: o tipo no byte mais significativo e o
+     * número nos demais.
+     */
+    public long toKey() {
+        return (long) tipo.ordinal() << SHIFT_TIPO | numero;
+    }
+
+    /**
+     * {@link #toKey()} em {@value #BYTES} bytes big-endian, cuja ordem lexicográfica sem sinal é a ordem dos
+     * documentos.
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(toKey()).array();
+    }
+
+    @Override
+    public int compareTo(Documento other) {
+        return Long.compare(toKey(), other.toKey());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof Documento other && numero == other.numero && tipo == other.tipo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(toKey());
+    }
+
+    /**
+     * Documento formatado, como em {@link #format()}.
+     */
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,498 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Índice em memória para busca aproximada de nomes, usado na deduplicação de devedores.
+ * <p>
+ * Cada nome é normalizado (sem acentos, em maiúsculas, só letras, dígitos e espaços simples, sem as
+ * partículas {@code DA}, {@code DE}, {@code DO}, {@code DAS}, {@code DOS} e {@code E}) e decomposto em
+ * termos: os trigramas de caracteres do nome (com um espaço antes e depois) e o código {@link BuscaBR} de
+ * cada palavra. Para cada termo o índice guarda, em um {@code int[]}, os identificadores dos nomes que o
+ * contêm, em ordem crescente. A similaridade entre dois nomes é o coeficiente de Dice dos seus conjuntos de
+ * termos: {@code 2 * comuns / (termos1 + termos2)}, de 0 a 1.
+ * <p>
+ * A busca percorre os termos do nome procurado do menos para o mais frequente. As listas mais raras são
+ * lidas inteiras (até {@value #MAX_GERACAO} posições) e os {@value #MAX_CANDIDATOS} nomes com mais termos em
+ * comum nelas são selecionados; as listas frequentes apenas somam pontos a esses candidatos, por busca
+ * exponencial, sem serem percorridas. Assim o custo da busca depende da raridade dos termos e não da
+ * quantidade de nomes. Quando os termos raros são comuns a muitos nomes, o resultado pode ser aproximado:
+ * nomes fora da seleção não são avaliados.
+ * <p>
+ * Os nomes recebem identificadores sequenciais, a partir de 0, na ordem de {@link #add(String)}; o índice
+ * não guarda os nomes, apenas os termos. O índice pode ser gravado e lido com {@link #writeTo(OutputStream)}
+ * e {@link #readFrom(InputStream)}, com as listas codificadas por diferença em inteiros de tamanho variável.
+ * <p>
+ * Chamadas simultâneas de {@link #search(String, int)} só são seguras enquanto nenhum {@link #add(String)}
+ * estiver em andamento; se houver adições concorrentes com buscas, o chamador deve sincronizar o acesso.
+ */
+public final class FuzzyNameIndex {
+
+    /** Nome encontrado e sua similaridade (de 0 a 1) com o nome procurado. */
+    public record Resultado(int id, double similaridade) {
+    }
+
+    private static final int MAGICO = 0x4E4F4D45;
+    private static final int VERSAO = 1;
+
+    /** Símbolos dos trigramas: espaço, {@code A-Z} e {@code 0-9}. */
+    private static final int SIMBOLOS = 37;
+    private static final int TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+    private static final int BITS_FONETICOS = 16;
+    private static final int TERMOS = TRIGRAMAS + (1 << BITS_FONETICOS);
+
+    /** Quantidade máxima de posições das listas lidas na geração de candidatos. */
+    private static final int MAX_GERACAO = 16 * 1024;
+    /** Quantidade máxima de candidatos avaliados por busca. */
+    private static final int MAX_CANDIDATOS = 1024;
+
+    private static final String[] PARTICULAS = {"DA", "DE", "DO", "DAS", "DOS", "E"};
+
+    private static final StringTools.Sanitizer NORMALIZACAO = StringTools.sanitizer()
+            .removerAcentos(true)
+            .permitir(StringTools.Sanitizer.Classe.LETRAS_ASCII, StringTools.Sanitizer.Classe.DIGITOS_ASCII,
+                    StringTools.Sanitizer.Classe.ESPACOS)
+            .caixa(StringTools.Sanitizer.Caixa.MAIUSCULAS)
+            .aparar(true)
+            .juntarEspacos(true)
+            .build();
+
+    private static final Comparator<Resultado> MELHOR_PRIMEIRO = Comparator
+            .comparingDouble(Resultado::similaridade).reversed()
+            .thenComparingInt(Resultado::id);
+
+    /** Identificadores dos nomes de cada termo; as listas têm folga e o tamanho usado está em {@link #tamanhos}. */
+    private final int[][] postings = new int[TERMOS][];
+    private final int[] tamanhos = new int[TERMOS];
+    /** Quantidade de termos de cada nome. */
+    private int[] quantidades = new int[1024];
+    private int tamanho;
+
+    /**
+     * Adiciona um nome ao índice.
+     * @param nome Nome, com ou sem acentos e pontuação. {@code null} é indexado como um nome vazio, que não
+     * é encontrado por nenhuma busca.
+     * @return o identificador do nome: a quantidade de nomes adicionados antes dele.
+     */
+    public int add(String nome) {
+        int[] termos = termos(nome);
+        int id = tamanho;
+        if (id == quantidades.length) {
+            quantidades = Arrays.copyOf(quantidades, id + (id >> 1) + 16);
+        }
+        quantidades[id] = termos.length;
+        for (int termo : termos) {
+            append(termo, id);
+        }
+        tamanho++;
+        return id;
+    }
+
+    /** Quantidade de nomes no índice. */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Nomes mais parecidos com o nome informado.
+     * @param nome Nome procurado.
+     * @param k Quantidade máxima de resultados.
+     * @return até {@code k} nomes, do mais para o menos parecido (e, no empate, pelo identificador).
+     */
+    public List<Resultado> search(String nome, int k) {
+        return search(nome, k, 0);
+    }
+
+    /**
+     * Nomes mais parecidos com o nome informado, com similaridade de pelo menos {@code minimo}.
+     * @param nome Nome procurado.
+     * @param k Quantidade máxima de resultados.
+     * @param minimo Similaridade mínima, de 0 a 1.
+     * @return até {@code k} nomes, do mais para o menos parecido (e, no empate, pelo identificador).
+     */
+    public List<Resultado> search(String nome, int k, double minimo) {
+        int[] termos = termos(nome);
+        if (k <= 0 || termos.length == 0 || tamanho == 0) {
+            return List.of();
+        }
+        Candidatos candidatos = contar(termos);
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(k + 1, MELHOR_PRIMEIRO.reversed());
+        for (int i = 0; i < candidatos.quantidade; i++) {
+            int id = candidatos.ids[i];
+            double similaridade = 2.0 * candidatos.comuns[i] / (termos.length + quantidades[id]);
+            if (similaridade >= minimo) {
+                melhores.offer(new Resultado(id, similaridade));
+                if (melhores.size() > k) {
+                    melhores.poll();
+                }
+            }
+        }
+        List<Resultado> resultado = new ArrayList<>(melhores);
+        resultado.sort(MELHOR_PRIMEIRO);
+        return resultado;
+    }
+
+    /**
+     * Conta, para cada candidato, quantos dos termos procurados ele contém.
+     */
+    private Candidatos contar(int[] termos) {
+        long[] ordem = new long[termos.length];
+        for (int i = 0; i < termos.length; i++) {
+            ordem[i] = (long) tamanhos[termos[i]] << 32 | termos[i];
+        }
+        Arrays.sort(ordem);
+        Candidatos candidatos = new Candidatos();
+
+        // Geração: as listas mais raras são percorridas inteiras, até o limite de posições lidas.
+        int orcamento = MAX_GERACAO;
+        int t = 0;
+        int inicio = 0;
+        while (t < ordem.length) {
+            int n = (int) (ordem[t] >>> 32);
+            if (n > orcamento && candidatos.quantidade > 0) {
+                break;
+            }
+            int[] lista = postings[(int) ordem[t]];
+            int fim = Math.min(n, orcamento);
+            for (int j = 0; j < fim; j++) {
+                candidatos.somar(lista[j]);
+            }
+            orcamento -= fim;
+            if (fim < n) {
+                inicio = fim;
+                break;
+            }
+            t++;
+        }
+        candidatos.selecionar();
+
+        // Verificação: os demais termos só somam pontos aos candidatos selecionados.
+        for (; t < ordem.length; t++) {
+            int n = (int) (ordem[t] >>> 32);
+            candidatos.somar(postings[(int) ordem[t]], inicio, n);
+            inicio = 0;
+        }
+        return candidatos;
+    }
+
+    private void append(int termo, int id) {
+        int[] lista = postings[termo];
+        int n = tamanhos[termo];
+        if (lista == null) {
+            lista = new int[4];
+            postings[termo] = lista;
+        } else if (n == lista.length) {
+            lista = Arrays.copyOf(lista, n + (n >> 1) + 4);
+            postings[termo] = lista;
+        }
+        lista[n] = id;
+        tamanhos[termo] = n + 1;
+    }
+
+    /**
+     * Termos do nome, ordenados e sem repetição.
+     */
+    static int[] termos(String nome) {
+        String normalizado = nome == null ? "" : NORMALIZACAO.sanitize(nome);
+        int n = normalizado.length();
+        char[] texto = new char[n + 2];
+        char[] palavra = new char[n];
+        int[] termos = new int[n + n / 2 + 2];
+        int quantidade = 0;
+        int length = 0;
+        texto[length++] = ' ';
+        for (int inicio = 0; inicio < n; ) {
+            int fim = normalizado.indexOf(' ', inicio);
+            if (fim < 0) {
+                fim = n;
+            }
+            if (!isParticula(normalizado, inicio, fim)) {
+                int letras = 0;
+                for (int i = inicio; i < fim; i++) {
+                    char c = normalizado.charAt(i);
+                    texto[length++] = c;
+                    if (c >= 'A') {
+                        palavra[letras++] = c;
+                    }
+                }
+                texto[length++] = ' ';
+                int codigo = BuscaBR.encode(palavra, letras);
+                if (codigo > 0) {
+                    termos[quantidade++] = TRIGRAMAS + fonetico(palavra, codigo);
+                }
+            }
+            inicio = fim + 1;
+        }
+        for (int i = 0; i + 2 < length; i++) {
+            termos[quantidade++] = (simbolo(texto[i]) * SIMBOLOS + simbolo(texto[i + 1])) * SIMBOLOS
+                    + simbolo(texto[i + 2]);
+        }
+        Arrays.sort(termos, 0, quantidade);
+        int distintos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (distintos == 0 || termos[distintos - 1] != termos[i]) {
+                termos[distintos++] = termos[i];
+            }
+        }
+        return Arrays.copyOf(termos, distintos);
+    }
+
+    private static boolean isParticula(String texto, int inicio, int fim) {
+        for (String particula : PARTICULAS) {
+            if (particula.length() == fim - inicio && texto.startsWith(particula, inicio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int simbolo(char c) {
+        if (c == ' ') {
+            return 0;
+        }
+        return c >= 'A' ? c - 'A' + 1 : c - '0' + 27;
+    }
+
+    private static int fonetico(char[] codigo, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + codigo[i];
+        }
+        return (hash * 0x9E3779B9) >>> (Integer.SIZE - BITS_FONETICOS);
+    }
+
+    /**
+     * Grava o índice no stream, que não é fechado. Use um stream com buffer.
+     * @throws IOException em caso de erro de gravação.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGICO);
+        data.writeInt(VERSAO);
+        data.writeInt(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            writeVarint(data, quantidades[i]);
+        }
+        int usados = 0;
+        for (int n : tamanhos) {
+            usados += n > 0 ? 1 : 0;
+        }
+        data.writeInt(usados);
+        for (int termo = 0; termo < TERMOS; termo++) {
+            int n = tamanhos[termo];
+            if (n > 0) {
+                writeVarint(data, termo);
+                writeVarint(data, n);
+                int[] lista = postings[termo];
+                int anterior = 0;
+                for (int j = 0; j < n; j++) {
+                    writeVarint(data, lista[j] - anterior);
+                    anterior = lista[j];
+                }
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Lê um índice gravado por {@link #writeTo(OutputStream)}. O stream não é fechado; use um stream com buffer.
+     * @throws IOException em caso de erro de leitura ou se os dados não forem um índice válido.
+     */
+    public static FuzzyNameIndex readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGICO || data.readInt() != VERSAO) {
+            throw new IOException("Arquivo de índice de nomes inválido");
+        }
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        int tamanho = data.readInt();
+        if (tamanho < 0) {
+            throw new IOException("Arquivo de índice de nomes inválido");
+        }
+        index.quantidades = new int[Math.max(tamanho, 1)];
+        for (int i = 0; i < tamanho; i++) {
+            index.quantidades[i] = readVarint(data);
+        }
+        index.tamanho = tamanho;
+        int usados = data.readInt();
+        for (int t = 0; t < usados; t++) {
+            int termo = readVarint(data);
+            int n = readVarint(data);
+            if (termo >= TERMOS || index.postings[termo] != null || n > tamanho) {
+                throw new IOException("Arquivo de índice de nomes inválido");
+            }
+            int[] lista = new int[n];
+            int anterior = 0;
+            for (int j = 0; j < n; j++) {
+                anterior += readVarint(data);
+                if (anterior >= tamanho || (j > 0 && anterior <= lista[j - 1])) {
+                    throw new IOException("Arquivo de índice de nomes inválido");
+                }
+                lista[j] = anterior;
+            }
+            index.postings[termo] = lista;
+            index.tamanhos[termo] = n;
+        }
+        return index;
+    }
+
+    /**
+     * Grava o índice no arquivo, sobrescrevendo-o se existir.
+     * @throws IOException em caso de erro de gravação.
+     */
+    public void save(Path arquivo) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(arquivo))) {
+            writeTo(out);
+        }
+    }
+
+    /**
+     * Lê um índice gravado por {@link #save(Path)}.
+     * @throws IOException em caso de erro de leitura ou se o arquivo não for um índice válido.
+     */
+    public static FuzzyNameIndex load(Path arquivo) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(arquivo))) {
+            return readFrom(in);
+        }
+    }
+
+    private static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Arquivo de índice de nomes inválido");
+    }
+
+    /**
+     * Contadores de termos comuns por candidato. Na geração, uma tabela de endereçamento aberto; na
+     * verificação, os candidatos selecionados, em ordem crescente, comparados às listas por busca exponencial.
+     */
+    private static final class Candidatos {
+
+        private static final int CAPACIDADE = Integer.highestOneBit(MAX_GERACAO) * 2;
+        private static final int BITS = Integer.numberOfTrailingZeros(CAPACIDADE);
+
+        /** Identificador mais 1 (0 indica posição livre). */
+        private int[] chaves = new int[CAPACIDADE];
+        private int[] contadores = new int[CAPACIDADE];
+        /** Posições ocupadas da tabela, na ordem de inclusão. */
+        private int[] ocupadas = new int[MAX_GERACAO];
+
+        /** Candidatos selecionados, em ordem crescente, e os respectivos termos comuns. */
+        int[] ids;
+        int[] comuns;
+        int quantidade;
+
+        void somar(int id) {
+            int slot = (id * 0x9E3779B9) >>> (Integer.SIZE - BITS);
+            while (chaves[slot] != 0 && chaves[slot] != id + 1) {
+                slot = (slot + 1) & (CAPACIDADE - 1);
+            }
+            if (chaves[slot] == 0) {
+                chaves[slot] = id + 1;
+                ocupadas[quantidade++] = slot;
+            }
+            contadores[slot]++;
+        }
+
+        /**
+         * Mantém os {@value #MAX_CANDIDATOS} candidatos com mais termos comuns (no empate, os primeiros
+         * encontrados), agrupando-os pela quantidade de termos.
+         */
+        void selecionar() {
+            int maximo = 0;
+            for (int i = 0; i < quantidade; i++) {
+                maximo = Math.max(maximo, contadores[ocupadas[i]]);
+            }
+            int[] porContagem = new int[maximo + 2];
+            for (int i = 0; i < quantidade; i++) {
+                porContagem[contadores[ocupadas[i]]]++;
+            }
+            // Menor contagem incluída e quantos candidatos com essa contagem cabem.
+            int corte = maximo;
+            int restantes = MAX_CANDIDATOS;
+            while (corte > 1 && restantes > porContagem[corte]) {
+                restantes -= porContagem[corte];
+                corte--;
+            }
+            long[] selecionados = new long[Math.min(quantidade, MAX_CANDIDATOS)];
+            int n = 0;
+            for (int i = 0; i < quantidade && n < selecionados.length; i++) {
+                int slot = ocupadas[i];
+                int contador = contadores[slot];
+                if (contador > corte || (contador == corte && restantes-- > 0)) {
+                    selecionados[n++] = (long) (chaves[slot] - 1) << 32 | contador;
+                }
+            }
+            Arrays.sort(selecionados, 0, n);
+            ids = new int[n];
+            comuns = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = (int) (selecionados[i] >>> 32);
+                comuns[i] = (int) selecionados[i];
+            }
+            quantidade = n;
+            chaves = null;
+            contadores = null;
+            ocupadas = null;
+        }
+
+        /**
+         * Soma um termo aos candidatos presentes em {@code lista[from, to)}.
+         */
+        void somar(int[] lista, int from, int to) {
+            int pos = from;
+            for (int i = 0; i < quantidade && pos < to; i++) {
+                pos = buscar(lista, pos, to, ids[i]);
+                if (pos < to && lista[pos] == ids[i]) {
+                    comuns[i]++;
+                    pos++;
+                }
+            }
+        }
+
+        /**
+         * Primeira posição de {@code lista[from, to)} com valor maior ou igual a {@code id}, por busca exponencial.
+         */
+        private static int buscar(int[] lista, int from, int to, int id) {
+            int passo = 1;
+            int anterior = from;
+            int pos = from;
+            while (pos < to && lista[pos] < id) {
+                anterior = pos + 1;
+                pos = from + passo;
+                passo <<= 1;
+            }
+            int fim = Math.min(pos, to);
+            int indice = Arrays.binarySearch(lista, anterior, fim, id);
+            return indice >= 0 ? indice : -indice - 1;
+        }
+    }
+}
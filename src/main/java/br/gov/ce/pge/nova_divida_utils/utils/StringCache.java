@@ -0,0 +1,218 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache limitado dos resultados de uma transformação de texto, como {@link StringTools#normalize(String)}.
+ * <p>
+ * O cache é limitado pela quantidade de entradas e por uma estimativa da memória ocupada (os caracteres da
+ * chave e do valor mais um custo fixo por entrada). A remoção segue o algoritmo CLOCK: as entradas ficam em
+ * um anel e cada consulta apenas marca a entrada como usada; para abrir espaço, o ponteiro percorre o anel
+ * desmarcando as entradas usadas e removendo a primeira não usada desde a última volta.
+ * <p>
+ * As consultas não usam trava. As inclusões são serializadas por uma trava obtida sem espera: se outra
+ * thread estiver incluindo, o valor calculado é retornado sem ser guardado. Os valores são calculados fora
+ * da trava e, em consultas simultâneas da mesma chave ainda ausente, podem ser calculados mais de uma vez.
+ * <p>
+ * As instâncias são thread-safe.
+ */
+public final class StringCache implements UnaryOperator<String> {
+
+    /** Estimativa, em bytes, do custo fixo de cada entrada (objetos, cabeçalhos e nó do mapa). */
+    static final int CUSTO_ENTRADA = 112;
+
+    /** Estatísticas acumuladas do cache. */
+    public record Estatisticas(long acertos, long falhas, long remocoes, int entradas, long bytes) {
+
+        /** Proporção das consultas encontradas no cache, de 0 a 1. */
+        public double taxaAcerto() {
+            long total = acertos + falhas;
+            return total == 0 ? 0 : (double) acertos / total;
+        }
+    }
+
+    private static final class Entrada {
+
+        private final String chave;
+        private final String valor;
+        private final int custo;
+        private final int posicao;
+        private volatile boolean usada;
+
+        Entrada(String chave, String valor, int custo, int posicao) {
+            this.chave = chave;
+            this.valor = valor;
+            this.custo = custo;
+            this.posicao = posicao;
+        }
+    }
+
+    private final UnaryOperator<String> funcao;
+    private final int maxEntradas;
+    private final long maxBytes;
+    private final long maxBytesEntrada;
+
+    private final ConcurrentHashMap<String, Entrada> mapa;
+    private final ReentrantLock trava = new ReentrantLock();
+    /** Anel do CLOCK; protegido pela trava. */
+    private final Entrada[] anel;
+    private int ponteiro;
+    private volatile int entradas;
+    private volatile long bytes;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    private StringCache(Builder builder) {
+        this.funcao = builder.funcao;
+        this.maxEntradas = builder.maxEntradas;
+        this.maxBytes = builder.maxBytes;
+        // Uma única entrada não pode ocupar mais que uma fração do cache.
+        this.maxBytesEntrada = Math.max(CUSTO_ENTRADA, builder.maxBytes / 16);
+        this.mapa = new ConcurrentHashMap<>(Math.min(maxEntradas, 1 << 16));
+        this.anel = new Entrada[maxEntradas];
+    }
+
+    /**
+     * Cria a configuração de um cache para a transformação informada, que deve ser uma função pura (o mesmo
+     * texto sempre gera o mesmo resultado).
+     */
+    public static Builder builder(UnaryOperator<String> funcao) {
+        return new Builder(Objects.requireNonNull(funcao));
+    }
+
+    /** Configuração de {@link StringCache}. */
+    public static final class Builder {
+
+        private final UnaryOperator<String> funcao;
+        private int maxEntradas = 10_000;
+        private long maxBytes = 4L * 1024 * 1024;
+
+        private Builder(UnaryOperator<String> funcao) {
+            this.funcao = funcao;
+        }
+
+        /** Quantidade máxima de entradas. O padrão é 10.000. */
+        public Builder maxEntradas(int maxEntradas) {
+            this.maxEntradas = Math.max(1, maxEntradas);
+            return this;
+        }
+
+        /** Memória máxima estimada, em bytes. O padrão é 4 MB. */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = Math.max(CUSTO_ENTRADA, maxBytes);
+            return this;
+        }
+
+        public StringCache build() {
+            return new StringCache(this);
+        }
+    }
+
+    /**
+     * Resultado da transformação para o texto, do cache ou calculado (e guardado) na hora. Textos
+     * {@code null} não são guardados.
+     */
+    @Override
+    public String apply(String chave) {
+        if (chave == null) {
+            return funcao.apply(null);
+        }
+        Entrada entrada = mapa.get(chave);
+        if (entrada != null) {
+            if (!entrada.usada) {
+                entrada.usada = true;
+            }
+            acertos.increment();
+            return entrada.valor;
+        }
+        falhas.increment();
+        String valor = funcao.apply(chave);
+        if (valor != null) {
+            incluir(chave, valor);
+        }
+        return valor;
+    }
+
+    private void incluir(String chave, String valor) {
+        // Valor igual à chave (texto sem alteração) não ocupa memória adicional.
+        long custo = CUSTO_ENTRADA + 2L * chave.length() + (valor.equals(chave) ? 0 : 2L * valor.length());
+        if (custo > maxBytesEntrada || !trava.tryLock()) {
+            return;
+        }
+        try {
+            if (mapa.containsKey(chave)) {
+                return;
+            }
+            while (entradas >= maxEntradas || bytes + custo > maxBytes) {
+                remover();
+            }
+            while (anel[ponteiro] != null) {
+                avancar();
+            }
+            Entrada entrada = new Entrada(chave, valor.equals(chave) ? chave : valor, (int) custo, ponteiro);
+            anel[ponteiro] = entrada;
+            avancar();
+            mapa.put(chave, entrada);
+            entradas++;
+            bytes += custo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Remove a próxima entrada não usada, dando uma segunda chance às usadas.
+     */
+    private void remover() {
+        while (true) {
+            Entrada entrada = anel[ponteiro];
+            if (entrada != null) {
+                if (!entrada.usada) {
+                    descartar(entrada);
+                    remocoes.increment();
+                    return;
+                }
+                entrada.usada = false;
+            }
+            avancar();
+        }
+    }
+
+    private void descartar(Entrada entrada) {
+        anel[entrada.posicao] = null;
+        mapa.remove(entrada.chave);
+        entradas--;
+        bytes -= entrada.custo;
+    }
+
+    private void avancar() {
+        ponteiro = ponteiro + 1 == anel.length ? 0 : ponteiro + 1;
+    }
+
+    /**
+     * Remove todas as entradas. As estatísticas são mantidas.
+     */
+    public void clear() {
+        trava.lock();
+        try {
+            for (Entrada entrada : anel) {
+                if (entrada != null) {
+                    descartar(entrada);
+                }
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /** Estatísticas acumuladas desde a criação do cache. */
+    public Estatisticas estatisticas() {
+        return new Estatisticas(acertos.sum(), falhas.sum(), remocoes.sum(), entradas, bytes);
+    }
+}
@@ -1,13 +1,23 @@
 package br.gov.ce.pge.nova_divida_utils.utils;
 
-import java.text.Normalizer;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
 
 /**
  * Class utilitária usada para a manipulação de String<code>java.lang.String</code>
  */
 public final class StringTools {
 
+    /** Mantém letras e dígitos ASCII, espaços em branco, '.' e '-', como {@code [a-zA-Z0-9.\s-]}. */
+    private static final Sanitizer PUNCTUATION_EXCEPT = sanitizer()
+            .permitir( Sanitizer.Classe.LETRAS_ASCII, Sanitizer.Classe.DIGITOS_ASCII, Sanitizer.Classe.ESPACOS )
+            .permitir( '.', '-' )
+            .build();
+
     private StringTools() {
         // Do nothing. Constutor protegito para evitar instanciação de classe utilitária.
     }
@@ -19,11 +29,116 @@ public final class StringTools {
      * @return
      */
     public static Long toLong(String value) {
-        try {
-            return Long.valueOf( value.trim() );
-        } catch (Exception e) {
+        if (value == null)
             return null;
+        OptionalLong numero = parseLong( value );
+        return numero.isPresent() ? numero.getAsLong() : null;
+    }
+
+    /**
+     * Converte o texto para long, sem lançar exceção, com as regras de {@link Long#parseLong(String)} após
+     * ignorar os caracteres de controle e espaços ({@code <= ' '}) do início e do fim, como {@link String#trim()}.
+     *
+     * @param value Texto a converter.
+     * @return o número, ou vazio se o texto for {@code null} ou não for um long válido.
+     */
+    public static OptionalLong parseLong(CharSequence value) {
+        return value == null ? OptionalLong.empty() : parseLong( value, 0, value.length() );
+    }
+
+    /**
+     * Converte o trecho {@code [start, end)} do texto para long, como {@link #parseLong(CharSequence)}.
+     *
+     * @return o número, ou vazio se o trecho não for um long válido.
+     * @throws IndexOutOfBoundsException se o trecho estiver fora do texto.
+     */
+    public static OptionalLong parseLong(CharSequence value, int start, int end) {
+        long numero = parseLong( value, start, end, Long.MIN_VALUE );
+        if (numero != Long.MIN_VALUE) {
+            return OptionalLong.of( numero );
+        }
+        // Distingue o próprio Long.MIN_VALUE de um texto inválido.
+        return parseLong( value, start, end, Long.MAX_VALUE ) == Long.MIN_VALUE
+                ? OptionalLong.of( Long.MIN_VALUE )
+                : OptionalLong.empty();
+    }
+
+    /**
+     * Converte o trecho {@code [start, end)} do texto para long, como {@link #parseLong(CharSequence)}, sem
+     * alocar nada.
+     *
+     * @param invalid Valor retornado se o trecho não for um long válido.
+     * @return o número, ou {@code invalid}.
+     * @throws IndexOutOfBoundsException se o trecho estiver fora do texto.
+     */
+    public static long parseLong(CharSequence value, int start, int end, long invalid) {
+        return parse( value, start, end, Long.MIN_VALUE, invalid );
+    }
+
+    /**
+     * Converte o texto para int, sem lançar exceção, como {@link #parseLong(CharSequence)} e com as regras de
+     * {@link Integer#parseInt(String)}.
+     *
+     * @param value Texto a converter.
+     * @return o número, ou vazio se o texto for {@code null} ou não for um int válido.
+     */
+    public static OptionalInt parseInt(CharSequence value) {
+        if (value == null)
+            return OptionalInt.empty();
+        long numero = parse( value, 0, value.length(), Integer.MIN_VALUE, Long.MIN_VALUE );
+        return numero == Long.MIN_VALUE ? OptionalInt.empty() : OptionalInt.of( (int) numero );
+    }
+
+    /**
+     * Converte o trecho {@code [start, end)} do texto para int, como {@link #parseInt(CharSequence)}, sem
+     * alocar nada.
+     *
+     * @param invalid Valor retornado se o trecho não for um int válido.
+     * @return o número, ou {@code invalid}.
+     * @throws IndexOutOfBoundsException se o trecho estiver fora do texto.
+     */
+    public static int parseInt(CharSequence value, int start, int end, int invalid) {
+        long numero = parse( value, start, end, Integer.MIN_VALUE, Long.MIN_VALUE );
+        return numero == Long.MIN_VALUE ? invalid : (int) numero;
+    }
+
+    /**
+     * Converte o trecho para um número entre {@code min} e {@code -(min + 1)}, acumulando em negativo como
+     * {@link Long#parseLong(String)} para aceitar o próprio {@code min}.
+     */
+    private static long parse(CharSequence value, int start, int end, long min, long invalid) {
+        Objects.checkFromToIndex( start, end, value.length() );
+        while (start < end && value.charAt( start ) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt( end - 1 ) <= ' ') {
+            end--;
         }
+        if (start == end) {
+            return invalid;
+        }
+        char first = value.charAt( start );
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            if (++start == end) {
+                return invalid;
+            }
+        }
+        long limit = negative ? min : min + 1;
+        long multmin = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit( value.charAt( i ), 10 );
+            if (digit < 0 || result < multmin) {
+                return invalid;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return invalid;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
     }
 
     /**
@@ -80,35 +195,23 @@ public final class StringTools {
     }
 
     /**
-     * Remove os caracteres de uma string.
+     * Remove os caracteres de uma string.<BR>
+     * Para remover sempre o mesmo conjunto de caracteres, prefira um {@link CharFilter} em uma constante.
      *
      * @param str String a ser completada.
-     * @return
+     * @return a string sem os caracteres, ou a própria {@code str} se nenhum deles ocorrer.
      */
     public static String removeCharacters(final String str, char... characters) {
-        StringBuilder ret = new StringBuilder( str );
-
-        /* varrer o texto, procurando caracteres */
-        int pos = -1;
-        for (char character : characters) {
-            while ((pos = ret.indexOf( String.valueOf( character ) )) != -1) {
-                ret.deleteCharAt( pos );
-            }
-        }
-        return ret.toString();
+        return CharFilter.of( characters ).remove( str );
     }
 
 	/**
-	 * Normaliza uma String.
+	 * Normaliza uma String, removendo os acentos (veja {@link AccentFolder}).
 	 * @param str String a ser normalizada.
-	 * @return a String normalizada.
+	 * @return a String normalizada, ou a própria {@code str} se ela não tiver acentos.
 	 */
     public static String normalize(String str) {
-        if (str == null)
-            return null;
-        return Normalizer
-                .normalize( str, Normalizer.Form.NFD )
-                .replaceAll( "\\p{M}", "" );
+        return AccentFolder.fold( str );
     }
 
     /**
@@ -117,9 +220,298 @@ public final class StringTools {
      * @return String sem pontuação
      */
     public static String removePunctuationExcept(String str) {
-        if (str == null)
-            return null;
-        return str.replaceAll( "[^a-zA-Z0-9.\\s-]", "" );
+        return PUNCTUATION_EXCEPT.sanitize( str );
+    }
+
+    /**
+     * {@link #normalize(String)} com o cache compartilhado {@link #normalizeCache()}. Indicado para valores que se
+     * repetem (nomes de municípios, descrições); para valores quase sempre distintos, como os de um
+     * processamento em lote, use {@link #normalize(String)} para não descartar as entradas úteis do cache.
+     * @param str String a ser normalizada.
+     * @return a String normalizada.
+     */
+    public static String normalizeCached(String str) {
+        return Caches.NORMALIZE.apply( str );
+    }
+
+    /**
+     * {@link #removePunctuationExcept(String)} com o cache compartilhado {@link #removePunctuationExceptCache()}.
+     * Mesmas indicações de {@link #normalizeCached(String)}.
+     * @param str com pontuação
+     * @return String sem pontuação
+     */
+    public static String removePunctuationExceptCached(String str) {
+        return Caches.REMOVE_PUNCTUATION_EXCEPT.apply( str );
+    }
+
+    /**
+     * Cache compartilhado de {@link #normalizeCached(String)}, para consulta das estatísticas.
+     */
+    public static StringCache normalizeCache() {
+        return Caches.NORMALIZE;
+    }
+
+    /**
+     * Cache compartilhado de {@link #removePunctuationExceptCached(String)}, para consulta das estatísticas.
+     */
+    public static StringCache removePunctuationExceptCache() {
+        return Caches.REMOVE_PUNCTUATION_EXCEPT;
+    }
+
+    /**
+     * Caches compartilhados, criados apenas no primeiro uso.
+     */
+    private static final class Caches {
+
+        private static final StringCache NORMALIZE = StringCache.builder( StringTools::normalize ).build();
+        private static final StringCache REMOVE_PUNCTUATION_EXCEPT =
+                StringCache.builder( StringTools::removePunctuationExcept ).build();
+
+        private Caches() {
+        }
+    }
+
+    /**
+     * Cria a configuração de um {@link Sanitizer}.
+     */
+    public static Sanitizer.Builder sanitizer() {
+        return new Sanitizer.Builder();
+    }
+
+    /**
+     * Limpeza de textos (nomes, endereços) configurada uma vez e executada em uma única passada.
+     * <p>
+     * Cada caractere passa, nesta ordem, pela remoção de acentos, pelo filtro de caracteres permitidos, pela
+     * conversão de caixa e pelo tratamento de espaços, e é escrito diretamente no buffer de saída. As três
+     * primeiras etapas são combinadas, na criação, em uma tabela para Latin-1 e Latin Extended-A. O
+     * resultado é o mesmo de encadear {@link StringTools#normalize(String)}, a remoção dos caracteres não
+     * permitidos, a conversão de caixa caractere a caractere ({@link Character#toUpperCase(char)}), o
+     * {@code trim} e a junção dos espaços repetidos, sem as {@code String}s intermediárias.
+     * <p>
+     * As instâncias são imutáveis e thread-safe: uma mesma instância, normalmente em uma constante, pode ser
+     * compartilhada entre requisições e processamentos em lote.
+     */
+    public static final class Sanitizer {
+
+        /** Classes de caracteres permitidos. */
+        public enum Classe {
+            /** Letras ASCII ({@code a-z}, {@code A-Z}). */
+            LETRAS_ASCII,
+            /** Qualquer letra ({@link Character#isLetter(char)}). */
+            LETRAS,
+            /** Dígitos ASCII ({@code 0-9}). */
+            DIGITOS_ASCII,
+            /** Qualquer dígito ({@link Character#isDigit(char)}). */
+            DIGITOS,
+            /** Espaços em branco, como {@code \s} nas expressões regulares: {@code ' ', \t, \n, \x0B, \f, \r}. */
+            ESPACOS
+        }
+
+        /** Conversão de caixa. */
+        public enum Caixa {
+            MANTER,
+            MAIUSCULAS,
+            MINUSCULAS
+        }
+
+        /** Bits de ' ', \t, \n, \x0B, \f e \r. */
+        private static final long ESPACOS = 1L << ' ' | 0x3E00L;
+        private static final int LATIN1 = 256;
+        /** Caracteres convertidos por tabela: Latin-1 e Latin Extended-A, como em {@link AccentFolder}. */
+        private static final int TABELA = 0x0180;
+
+        private final boolean removerAcentos;
+        /** Caracteres Latin-1 e extras permitidos, ou {@code null} se todos forem permitidos. */
+        private final CharFilter permitidos;
+        private final boolean letras;
+        private final boolean digitos;
+        private final Caixa caixa;
+        private final boolean aparar;
+        private final boolean juntarEspacos;
+        /** Resultado de {@link #converter(char, boolean)} para os caracteres da tabela. */
+        private final int[] tabela = new int[TABELA];
+
+        private Sanitizer(Builder builder) {
+            this.removerAcentos = builder.removerAcentos;
+            this.letras = builder.classes.contains( Classe.LETRAS );
+            this.digitos = builder.classes.contains( Classe.DIGITOS );
+            this.caixa = builder.caixa;
+            this.aparar = builder.aparar;
+            this.juntarEspacos = builder.juntarEspacos;
+            if (builder.classes.isEmpty() && builder.extras.length() == 0) {
+                this.permitidos = null;
+            } else {
+                StringBuilder chars = new StringBuilder( builder.extras );
+                for (char c = 0; c < LATIN1; c++) {
+                    if (pertence( c, builder.classes )) {
+                        chars.append( c );
+                    }
+                }
+                this.permitidos = CharFilter.of( chars );
+            }
+            for (char c = 0; c < TABELA; c++) {
+                tabela[c] = converter( c, removerAcentos );
+            }
+        }
+
+        private static boolean pertence(char c, Set<Classe> classes) {
+            boolean letraAscii = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            boolean digitoAscii = c >= '0' && c <= '9';
+            return (classes.contains( Classe.LETRAS_ASCII ) && letraAscii)
+                    || (classes.contains( Classe.LETRAS ) && Character.isLetter( c ))
+                    || (classes.contains( Classe.DIGITOS_ASCII ) && digitoAscii)
+                    || (classes.contains( Classe.DIGITOS ) && Character.isDigit( c ))
+                    || (classes.contains( Classe.ESPACOS ) && isEspaco( c ));
+        }
+
+        private static boolean isEspaco(int c) {
+            return c >= 0 && c <= ' ' && ((ESPACOS >>> c) & 1) != 0;
+        }
+
+        /** Configuração de {@link Sanitizer}. Sem nenhuma opção, o texto é devolvido sem alterações. */
+        public static final class Builder {
+
+            private boolean removerAcentos;
+            private final Set<Classe> classes = EnumSet.noneOf( Classe.class );
+            private final StringBuilder extras = new StringBuilder();
+            private Caixa caixa = Caixa.MANTER;
+            private boolean aparar;
+            private boolean juntarEspacos;
+
+            private Builder() {
+            }
+
+            /** Remove os acentos, como {@link StringTools#normalize(String)}. */
+            public Builder removerAcentos(boolean removerAcentos) {
+                this.removerAcentos = removerAcentos;
+                return this;
+            }
+
+            /**
+             * Mantém apenas os caracteres das classes informadas (e dos {@link #permitir(char...) extras}),
+             * removendo os demais. Sem classes nem extras, todos os caracteres são mantidos.
+             */
+            public Builder permitir(Classe... classes) {
+                this.classes.addAll( Arrays.asList( classes ) );
+                return this;
+            }
+
+            /** Mantém também os caracteres informados. */
+            public Builder permitir(char... extras) {
+                this.extras.append( extras );
+                return this;
+            }
+
+            /** Conversão de caixa. O padrão é {@link Caixa#MANTER}. */
+            public Builder caixa(Caixa caixa) {
+                this.caixa = caixa;
+                return this;
+            }
+
+            /** Remove os espaços em branco do início e do fim. */
+            public Builder aparar(boolean aparar) {
+                this.aparar = aparar;
+                return this;
+            }
+
+            /** Troca cada sequência de espaços em branco por um único {@code ' '}. */
+            public Builder juntarEspacos(boolean juntarEspacos) {
+                this.juntarEspacos = juntarEspacos;
+                return this;
+            }
+
+            public Sanitizer build() {
+                return new Sanitizer( this );
+            }
+        }
+
+        /**
+         * Aplica a limpeza configurada.
+         * @param str Texto a limpar.
+         * @return o texto limpo, a própria {@code str} se nada mudar, ou {@code null} se ela for {@code null}.
+         */
+        public String sanitize(String str) {
+            if (str == null) {
+                return null;
+            }
+            return sanitize( str, removerAcentos );
+        }
+
+        private String sanitize(String str, boolean semAcentos) {
+            int n = str.length();
+            char[] out = new char[n];
+            int length = 0;
+            boolean alterado = false;
+            boolean espacoPendente = false;
+            for (int i = 0; i < n; i++) {
+                char original = str.charAt( i );
+                int c = original < TABELA ? tabela[original] : converter( original, semAcentos );
+                if (c < 0) {
+                    if (c == AccentFolder.NORMALIZAR) {
+                        // Caractere fora da tabela: remove os acentos do texto inteiro antes da passada.
+                        return sanitize( AccentFolder.normalizeFully( str ), false );
+                    }
+                    alterado = true;
+                    continue;
+                }
+                if ((juntarEspacos || aparar) && isEspaco( c )) {
+                    if (juntarEspacos) {
+                        espacoPendente = true;
+                        alterado |= c != ' ';
+                        continue;
+                    }
+                    if (length == 0) {
+                        alterado = true;
+                        continue;
+                    }
+                } else if (espacoPendente) {
+                    if (!aparar || length > 0) {
+                        out[length++] = ' ';
+                    }
+                    espacoPendente = false;
+                }
+                alterado |= c != original;
+                out[length++] = (char) c;
+            }
+            if (espacoPendente && !aparar) {
+                out[length++] = ' ';
+            }
+            if (aparar) {
+                while (length > 0 && isEspaco( out[length - 1] )) {
+                    length--;
+                }
+            }
+            return alterado || length != n ? new String( out, 0, length ) : str;
+        }
+
+        /**
+         * Caractere após a remoção de acentos, o filtro e a conversão de caixa, ou um valor negativo se ele
+         * for removido ({@link AccentFolder#REMOVER}) ou exigir a normalização completa
+         * ({@link AccentFolder#NORMALIZAR}).
+         */
+        private int converter(char original, boolean semAcentos) {
+            int c = semAcentos ? AccentFolder.fold( original ) : original;
+            if (c < 0) {
+                return c;
+            }
+            if (!permitido( (char) c )) {
+                return AccentFolder.REMOVER;
+            }
+            if (caixa == Caixa.MAIUSCULAS) {
+                return Character.toUpperCase( (char) c );
+            }
+            if (caixa == Caixa.MINUSCULAS) {
+                return Character.toLowerCase( (char) c );
+            }
+            return c;
+        }
+
+        private boolean permitido(char c) {
+            if (permitidos == null || permitidos.contains( c )) {
+                return true;
+            }
+            return c >= LATIN1 && ((letras && Character.isLetter( c )) || (digitos && Character.isDigit( c )));
+        }
     }
 
-}
\ No newline at end of file
+}
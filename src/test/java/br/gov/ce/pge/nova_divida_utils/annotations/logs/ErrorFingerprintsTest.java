@@ -0,0 +1,98 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorFingerprintsTest {
+
+    private static final Consumer<ErrorFingerprints.Summary> NENHUM_RESUMO = summary -> fail("resumo inesperado: " + summary);
+
+    private static LogPlan plan(String methodId) {
+        return new LogPlan("", "", "", new int[0], new String[0], true, true, FormatoLog.TEXTO,
+                "", "", "", new String[0], methodId, null, null, null, false);
+    }
+
+    private static ErrorFingerprints fingerprints(int maxFingerprints) {
+        LogAutomaticoProperties.Erros config = new LogAutomaticoProperties.Erros();
+        config.setJanelaDeduplicacaoSegundos(60);
+        config.setMaxFingerprints(maxFingerprints);
+        return new ErrorFingerprints(config);
+    }
+
+    /** Cria as exceções sempre no mesmo ponto, como ocorre com uma falha repetida de uma dependência. */
+    private static IllegalStateException[] erros(String... mensagens) {
+        IllegalStateException[] erros = new IllegalStateException[mensagens.length];
+        for (int i = 0; i < mensagens.length; i++) {
+            erros[i] = new IllegalStateException(mensagens[i]);
+        }
+        return erros;
+    }
+
+    @Test
+    void apenasAPrimeiraOcorrenciaDaJanelaEhLogada() {
+        ErrorFingerprints fingerprints = fingerprints(16);
+        LogPlan plan = plan("Servico.metodo()");
+
+        IllegalStateException[] erros = erros("a", "b", "c", "d");
+
+        assertEquals(0, fingerprints.registrar(plan, erros[0], NENHUM_RESUMO));
+        assertEquals(ErrorFingerprints.REPETIDA, fingerprints.registrar(plan, erros[1], NENHUM_RESUMO));
+        assertEquals(ErrorFingerprints.REPETIDA, fingerprints.registrar(plan, erros[2], NENHUM_RESUMO));
+
+        assertEquals(0, fingerprints.registrar(plan, new IllegalArgumentException(), NENHUM_RESUMO));
+        assertEquals(0, fingerprints.registrar(plan("Outro.metodo()"), erros[3], NENHUM_RESUMO));
+    }
+
+    @Test
+    void repeticoesSaoInformadasQuandoAJanelaVence() {
+        ErrorFingerprints fingerprints = fingerprints(16);
+        LogPlan plan = plan("Servico.metodo()");
+        IllegalStateException[] erros = erros("falha", "falha", "falha", "falha", "falha", "falha");
+        for (int i = 0; i < 5; i++) {
+            fingerprints.registrar(plan, erros[i], NENHUM_RESUMO);
+        }
+
+        List<ErrorFingerprints.Summary> resumos = new ArrayList<>();
+        fingerprints.removeExpired(System.nanoTime() + TimeUnit.MINUTES.toNanos(2), resumos::add);
+
+        assertEquals(1, resumos.size());
+        assertEquals(4, resumos.get(0).repeticoes());
+        assertEquals("Servico.metodo()", resumos.get(0).entry().methodId());
+        assertEquals(0, fingerprints.registrar(plan, erros[5], NENHUM_RESUMO));
+    }
+
+    @Test
+    void armazenamentoLimitadoNaoSuprimeErrosNovos() {
+        ErrorFingerprints fingerprints = fingerprints(1);
+        IllegalStateException[] erros = erros("a", "b", "b");
+        fingerprints.registrar(plan("A.a()"), erros[0], NENHUM_RESUMO);
+
+        assertEquals(0, fingerprints.registrar(plan("B.b()"), erros[1], NENHUM_RESUMO));
+        assertEquals(0, fingerprints.registrar(plan("B.b()"), erros[2], NENHUM_RESUMO));
+    }
+
+    @Test
+    void repeticoesDeEntradasRemovidasComArmazenamentoCheioSaoInformadas() {
+        ErrorFingerprints fingerprints = fingerprints(1);
+        LogPlan plan = plan("A.a()");
+        IllegalStateException[] erros = erros("a", "a", "a", "b");
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            fingerprints.registrar(plan, erros[i], inicio, NENHUM_RESUMO);
+        }
+
+        List<ErrorFingerprints.Summary> resumos = new ArrayList<>();
+        long depoisDaJanela = inicio + TimeUnit.MINUTES.toNanos(2);
+        assertEquals(0, fingerprints.registrar(plan("B.b()"), erros[3], depoisDaJanela, resumos::add));
+
+        assertEquals(1, resumos.size());
+        assertEquals(2, resumos.get(0).repeticoes());
+        assertEquals("A.a()", resumos.get(0).entry().methodId());
+    }
+}
@@ -0,0 +1,41 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 31, 32, 33, 1_000, 123_456, 10_000_000, 987_654_321_000L})
+    void faixaContemOValorComErroRelativoPequeno(long valor) {
+        int indice = LatencyHistogram.indexOf(valor);
+        long maior = LatencyHistogram.highestValueAt(indice);
+        assertTrue(maior >= valor);
+        assertTrue(maior - valor <= Math.max(1, valor / 30), "valor " + valor + " faixa " + maior);
+    }
+
+    @Test
+    void percentisDeDistribuicaoUniforme() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        LatencySummary summary = histogram.summary();
+
+        assertEquals(100, summary.quantidade());
+        assertEquals(50.0, summary.p50Ms(), 50.0 * 0.04);
+        assertEquals(95.0, summary.p95Ms(), 95.0 * 0.04);
+        assertEquals(99.0, summary.p99Ms(), 99.0 * 0.04);
+        assertEquals(100.0, summary.maxMs(), 0.0001);
+    }
+
+    @Test
+    void histogramaVazio() {
+        LatencySummary summary = new LatencyHistogram().summary();
+        assertEquals(0, summary.quantidade());
+        assertEquals(0.0, summary.p99Ms());
+    }
+}
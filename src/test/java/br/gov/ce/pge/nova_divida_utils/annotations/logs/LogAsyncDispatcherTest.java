@@ -0,0 +1,219 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogAsyncDispatcherTest {
+
+    /**
+     * Chamada feita ao logger: nome do método e argumentos.
+     */
+    private record Chamada(String metodo, Object[] argumentos) {}
+
+    /**
+     * Logger SLF4J que não é do logback, registrando as chamadas de {@code info} e {@code error}.
+     */
+    private static Logger loggerGenerico(List<Chamada> chamadas) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == boolean.class) {
+                        return true;
+                    }
+                    if (method.getName().equals("info") || method.getName().equals("error")) {
+                        chamadas.add(new Chamada(method.getName(), args));
+                    }
+                    return method.getReturnType() == String.class ? "generico" : null;
+                });
+    }
+
+    private static LogPlan planoJson() {
+        return new LogPlan("", "", "", new int[]{0}, new String[]{"valor"}, true, true, FormatoLog.JSON,
+                LogJsonEncoder.prefix(LogPlan.ENTRADA, "Teste", "br.Classe", "metodo(java.lang.String)"),
+                LogJsonEncoder.prefix(LogPlan.SAIDA, "Teste", "br.Classe", "metodo(java.lang.String)"),
+                LogJsonEncoder.prefix(LogPlan.ERRO, "Teste", "br.Classe", "metodo(java.lang.String)"),
+                new String[]{LogJsonEncoder.key("valor")}, "br.Classe.metodo(java.lang.String)",
+                null, null, null, false);
+    }
+
+    private static LogEvent evento(LogPlan plan, String moment, Object[] arguments, Throwable throwable) {
+        return evento(plan, moment, arguments, throwable, Collections.emptyMap());
+    }
+
+    private static LogEvent evento(LogPlan plan, String moment, Object[] arguments, Throwable throwable,
+                                   Map<String, String> mdc) {
+        return new LogEvent(plan, moment, arguments, throwable, 1_000, System.currentTimeMillis(),
+                Thread.currentThread().getName(), mdc);
+    }
+
+    @Test
+    void erroEmJsonEhEmitidoComExcecaoEmLoggerQueNaoEhLogback() {
+        List<Chamada> chamadas = Collections.synchronizedList(new ArrayList<>());
+        LogAutomaticoProperties.Assincrono config = new LogAutomaticoProperties.Assincrono();
+        config.setHabilitado(true);
+        LogAsyncDispatcher dispatcher = new LogAsyncDispatcher(loggerGenerico(chamadas), config);
+        LogPlan plan = planoJson();
+        IllegalStateException falha = new IllegalStateException("falha");
+
+        dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"x"}, null));
+        dispatcher.dispatch(evento(plan, LogPlan.ERRO, new Object[]{"IllegalStateException", "falha", "origem"}, falha));
+        dispatcher.close();
+
+        assertEquals(0, dispatcher.stats().descartados());
+        assertEquals(2, chamadas.size());
+        assertEquals("info", chamadas.get(0).metodo());
+        assertTrue(((String) chamadas.get(0).argumentos()[0]).contains("\"params\":{\"valor\":\"x\"}"));
+
+        Chamada erro = chamadas.get(1);
+        assertEquals("error", erro.metodo());
+        assertEquals(2, erro.argumentos().length);
+        assertTrue(((String) erro.argumentos()[0]).contains("\"message\":\"falha\""));
+        assertSame(falha, erro.argumentos()[1]);
+    }
+
+    @Test
+    void estatisticasContabilizamTodosOsEventos() {
+        List<Chamada> chamadas = Collections.synchronizedList(new ArrayList<>());
+        LogAutomaticoProperties.Assincrono config = new LogAutomaticoProperties.Assincrono();
+        config.setHabilitado(true);
+        config.setCapacidade(4);
+        config.setPoliticaOverflow(LogAutomaticoProperties.PoliticaOverflow.DESCARTAR);
+        LogAsyncDispatcher dispatcher = new LogAsyncDispatcher(loggerGenerico(chamadas), config);
+        LogPlan plan = planoJson();
+
+        for (int i = 0; i < 200; i++) {
+            dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"x" + i}, null));
+        }
+        dispatcher.close();
+
+        LogAsyncStats stats = dispatcher.stats();
+        assertTrue(stats.habilitado());
+        assertEquals(4, stats.capacidade());
+        assertEquals(0, stats.profundidadeFila());
+        assertEquals(200, stats.enfileirados() + stats.descartados());
+        assertEquals(0, stats.descartadosAmostragem());
+        assertEquals(stats.enfileirados(), chamadas.size());
+    }
+
+    @Test
+    void eventosAposFechamentoSaoEmitidosNaThreadDaChamada() {
+        List<Chamada> chamadas = Collections.synchronizedList(new ArrayList<>());
+        LogAutomaticoProperties.Assincrono config = new LogAutomaticoProperties.Assincrono();
+        config.setHabilitado(true);
+        LogAsyncDispatcher dispatcher = new LogAsyncDispatcher(loggerGenerico(chamadas), config);
+        dispatcher.close();
+
+        dispatcher.dispatch(evento(planoJson(), LogPlan.ENTRADA, new Object[]{"x"}, null));
+
+        assertEquals(1, chamadas.size());
+        assertEquals(0, dispatcher.stats().enfileirados());
+    }
+
+    @Test
+    void nenhumEventoSePerdeQuandoOFechamentoConcorreComODespacho() throws InterruptedException {
+        List<Chamada> chamadas = Collections.synchronizedList(new ArrayList<>());
+        LogAutomaticoProperties.Assincrono config = new LogAutomaticoProperties.Assincrono();
+        config.setHabilitado(true);
+        config.setPoliticaOverflow(LogAutomaticoProperties.PoliticaOverflow.BLOQUEAR);
+        LogAsyncDispatcher dispatcher = new LogAsyncDispatcher(loggerGenerico(chamadas), config);
+        LogPlan plan = planoJson();
+        CountDownLatch inicio = new CountDownLatch(1);
+        Thread[] produtores = new Thread[4];
+        for (int p = 0; p < produtores.length; p++) {
+            produtores[p] = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"x" + i}, null));
+                }
+            });
+            produtores[p].start();
+        }
+
+        inicio.countDown();
+        dispatcher.close();
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+
+        assertEquals(2_000, chamadas.size());
+        assertEquals(0, dispatcher.stats().profundidadeFila());
+        assertEquals(0, dispatcher.stats().descartados());
+    }
+
+    @Test
+    void estatisticasDoAspectoSemModoAssincrono() {
+        LogAsyncStats stats = new LogAutomaticoImpl().getEstatisticasAssincronas();
+        assertFalse(stats.habilitado());
+        assertEquals(0, stats.enfileirados());
+    }
+
+    /** Turbo filter que nega os eventos cujo MDC tem {@code negar}. */
+    private static final class NegarPorMdc extends TurboFilter {
+
+        @Override
+        public FilterReply decide(Marker marker, ch.qos.logback.classic.Logger logger, Level level, String format,
+                                  Object[] params, Throwable t) {
+            return MDC.get("negar") != null ? FilterReply.DENY : FilterReply.NEUTRAL;
+        }
+    }
+
+    @Test
+    void turboFiltersDoLogbackSaoConsultadosComOMdcOriginal() {
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("LogAsyncDispatcherTest.turbo");
+        LoggerContext context = logger.getLoggerContext();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        NegarPorMdc filtro = new NegarPorMdc();
+        filtro.start();
+        context.addTurboFilter(filtro);
+        try {
+            LogAutomaticoProperties.Assincrono config = new LogAutomaticoProperties.Assincrono();
+            config.setHabilitado(true);
+            LogAsyncDispatcher dispatcher = new LogAsyncDispatcher(logger, config);
+            LogPlan plan = planoJson();
+
+            dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"negado"}, null, Map.of("negar", "sim")));
+            dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"aceito"}, null, Map.of("id", "1")));
+            dispatcher.close();
+
+            MDC.put("chamada", "mantido");
+            dispatcher.dispatch(evento(plan, LogPlan.ENTRADA, new Object[]{"negado"}, null, Map.of("negar", "sim")));
+            assertEquals("mantido", MDC.get("chamada"));
+
+            assertEquals(1, appender.list.size());
+            assertTrue(appender.list.get(0).getFormattedMessage().contains("\"aceito\""));
+            assertEquals("1", appender.list.get(0).getMDCPropertyMap().get("id"));
+        } finally {
+            MDC.clear();
+            context.getTurboFilterList().remove(filtro);
+            logger.detachAppender(appender);
+        }
+    }
+}
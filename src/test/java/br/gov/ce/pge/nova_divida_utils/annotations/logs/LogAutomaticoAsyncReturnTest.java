@@ -0,0 +1,94 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogAutomaticoAsyncReturnTest {
+
+    public static class Servico {
+
+        @LogAutomatico(descricao = "Futuro")
+        public CompletableFuture<String> futuro(CompletableFuture<String> futuro) {
+            return futuro;
+        }
+
+        @LogAutomatico(descricao = "Mono")
+        public Mono<String> mono(Mono<String> mono) {
+            return mono;
+        }
+
+        @LogAutomatico(descricao = "Flux")
+        public Flux<Integer> flux(Flux<Integer> flux) {
+            return flux;
+        }
+    }
+
+    private LogAutomaticoImpl aspecto;
+    private Servico servico;
+
+    @BeforeEach
+    void setUp() {
+        aspecto = new LogAutomaticoImpl();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Servico());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspecto);
+        servico = factory.getProxy();
+    }
+
+    private LogLatencyStats latencia(String metodo) {
+        return aspecto.getEstatisticasLatencia().stream()
+                .filter(stats -> stats.metodo().contains("." + metodo + "("))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void completableFutureSoEhRegistradoNaConclusao() {
+        CompletableFuture<String> futuro = new CompletableFuture<>();
+        CompletableFuture<String> retornado = servico.futuro(futuro);
+
+        assertSame(futuro, retornado);
+        assertEquals(0, latencia("futuro").sucesso().quantidade());
+
+        futuro.complete("ok");
+        assertEquals(1, latencia("futuro").sucesso().quantidade());
+    }
+
+    @Test
+    void completableFutureComErroEhRegistradoComoErro() {
+        CompletableFuture<String> futuro = new CompletableFuture<>();
+        servico.futuro(futuro);
+
+        futuro.completeExceptionally(new IllegalStateException("falha"));
+        assertEquals(0, latencia("futuro").sucesso().quantidade());
+        assertEquals(1, latencia("futuro").erro().quantidade());
+    }
+
+    @Test
+    void monoSoEhRegistradoQuandoAssinadoEConcluido() {
+        Mono<String> mono = servico.mono(Mono.just("ok"));
+        assertEquals(0, latencia("mono").sucesso().quantidade());
+
+        assertEquals("ok", mono.block());
+        assertEquals(1, latencia("mono").sucesso().quantidade());
+
+        assertThrows(IllegalStateException.class, () -> servico.mono(Mono.error(new IllegalStateException())).block());
+        assertEquals(1, latencia("mono").erro().quantidade());
+    }
+
+    @Test
+    void fluxEhRegistradoNaConclusao() {
+        Flux<Integer> flux = servico.flux(Flux.range(1, 5));
+        assertEquals(0, latencia("flux").sucesso().quantidade());
+
+        assertEquals(5, flux.collectList().block().size());
+        assertEquals(1, latencia("flux").sucesso().quantidade());
+    }
+}
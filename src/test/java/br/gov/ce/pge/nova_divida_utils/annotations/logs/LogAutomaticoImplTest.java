@@ -1,128 +1,179 @@
-//package br.gov.ce.pge.nova_divida_utils.annotations.logs;
-//
-//import org.aspectj.lang.ProceedingJoinPoint;
-//import org.aspectj.lang.reflect.MethodSignature;
-//import org.junit.jupiter.api.Test;
-//import org.junit.jupiter.api.extension.ExtendWith;
-//import org.junit.jupiter.params.ParameterizedTest;
-//import org.junit.jupiter.params.provider.Arguments;
-//import org.junit.jupiter.params.provider.MethodSource;
-//import org.mockito.InjectMocks;
-//import org.mockito.Mock;
-//import org.mockito.junit.jupiter.MockitoExtension;
-//
-//import java.lang.reflect.Method;
-//import java.util.stream.Stream;
-//
-//import static org.junit.jupiter.api.Assertions.assertEquals;
-//import static org.mockito.Mockito.*;
-//
-//@ExtendWith({MockitoExtension.class})
-//class LogAutomaticoImplTest {
-//
-//    private static final String PROCEED = "Proceed";
-//
-//
-//    public static class TestClass {
-//
-////        @LogAutomatico()
-////        public void testMethod() {
-////            System.out.println("Test Method");
-////        }
-//
-//        @LogAutomatico(descricao = "Test Method 2")
-//        public void testMethod2() {
-//            System.out.println("Test Method 2");
-//        }
-//
-//        @LogAutomatico(descricao = "Test Method 3", gravarRetorno = true)
-//        public void testMethod3() {
-//            System.out.println("Test Method 3");
-//        }
-//
-//        @LogAutomatico(descricao = "Test Method 4", gravarRetorno = true, argumentos = {"argumento"})
-//        public String testMethod4(String argumento) {
-//            System.out.println(argumento);
-//            return argumento;
-//        }
-//
-//        @LogAutomatico(descricao = "Test Method 5", gravarRetorno = true, argumentos = {})
-//        public String testMethod5(String argumento) {
-//            System.out.println(argumento);
-//            return argumento;
-//        }
-//
-//    }
-//
-//    @InjectMocks
-//    private LogAutomaticoImpl logAutomatico;
-//
-//    @Mock
-//    private MethodSignature signature;
-//
-//    @Mock
-//    private ProceedingJoinPoint joinPoint;
-//
-//    @ParameterizedTest
-//    @MethodSource("testLogProvider")
-//    void logPadraoTest(Method method) throws Throwable {
-//        when(signature.getName()).thenReturn(method.getName());
-//        when(signature.getMethod()).thenReturn(method);
-//        when(joinPoint.getSignature()).thenReturn(signature);
-//        when(joinPoint.getThis()).thenReturn("This");
-//        when(joinPoint.proceed()).thenReturn(PROCEED);
-//
-//        Object actualLogPadraoResult = logAutomatico.logPadrao(joinPoint);
-//
-//        verify(joinPoint,atLeast(1)).getSignature();
-//        verify(joinPoint,atLeast(1)).getThis();
-//        verify(joinPoint).proceed();
-//        verify(signature,atLeast(1)).getName();
-//        assertEquals(PROCEED,actualLogPadraoResult);
-//    }
-//
-//    public static Stream<Arguments> testLogProvider() throws NoSuchMethodException {
-//        return Stream.of(
-//                Arguments.of(TestClass.class.getMethod("testMethod")),
-//                Arguments.of(TestClass.class.getMethod("testMethod2")),
-//                Arguments.of(TestClass.class.getMethod("testMethod3"))
-//        );
-//    }
-//
-//    @Test
-//    void logPadraoArgumentosTest() throws Throwable {
-//        Method method = TestClass.class.getMethod("testMethod4", String.class);
-//        when(signature.getName()).thenReturn(method.getName());
-//        when(signature.getMethod()).thenReturn(method);
-//        when(joinPoint.getSignature()).thenReturn(signature);
-//        when(joinPoint.getArgs()).thenReturn(new Object[]{"Argumento"});
-//        when(joinPoint.getThis()).thenReturn("This");
-//        when(joinPoint.proceed()).thenReturn(PROCEED);
-//
-//        Object actualLogPadraoResult = logAutomatico.logPadrao(joinPoint);
-//
-//        verify(joinPoint,atLeast(1)).getSignature();
-//        verify(joinPoint,atLeast(1)).getThis();
-//        verify(joinPoint).proceed();
-//        verify(signature,atLeast(1)).getName();
-//        assertEquals(PROCEED,actualLogPadraoResult);
-//    }
-//
-//    @Test
-//    void logPadraoArgumentosVaziosTest() throws Throwable {
-//        Method method = TestClass.class.getMethod("testMethod5", String.class);
-//        when(signature.getName()).thenReturn(method.getName());
-//        when(signature.getMethod()).thenReturn(method);
-//        when(joinPoint.getSignature()).thenReturn(signature);
-//        when(joinPoint.getThis()).thenReturn("This");
-//        when(joinPoint.proceed()).thenReturn(PROCEED);
-//
-//        Object actualLogPadraoResult = logAutomatico.logPadrao(joinPoint);
-//
-//        verify(joinPoint,atLeast(1)).getSignature();
-//        verify(joinPoint,atLeast(1)).getThis();
-//        verify(joinPoint).proceed();
-//        verify(signature,atLeast(1)).getName();
-//        assertEquals(PROCEED,actualLogPadraoResult);
-//    }
-//}
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogAutomaticoImplTest {
+
+    /** Argumento que conta quantas vezes foi renderizado. */
+    public static class Contador {
+
+        private final AtomicInteger renderizacoes = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            return "contador-" + renderizacoes.incrementAndGet();
+        }
+    }
+
+    public static class Servico {
+
+        @LogAutomatico(descricao = "Ecoar")
+        public String ecoar(String texto, Contador contador) {
+            return texto;
+        }
+
+        @LogAutomatico(descricao = "Falhar")
+        public void falhar(Contador contador) {
+            throw new IllegalStateException("falha");
+        }
+
+        @LogAutomatico(descricao = "Selecionar", argumentosEntrada = {"b"}, gravarRetornoMetodo = false)
+        public String selecionar(String a, String b) {
+            return a + b;
+        }
+
+        @LogAutomatico(descricao = "Consultar")
+        public String consultar(String cpf) {
+            return "contribuinte " + cpf;
+        }
+    }
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogAutomaticoImpl.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level nivelOriginal;
+    private LogAutomaticoImpl aspecto;
+    private Servico servico;
+
+    @BeforeEach
+    void setUp() {
+        nivelOriginal = logger.getLevel();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        aspecto = new LogAutomaticoImpl();
+        servico = proxy(aspecto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(nivelOriginal);
+        aspecto.destroy();
+    }
+
+    private static Servico proxy(LogAutomaticoImpl aspecto) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Servico());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspecto);
+        return factory.getProxy();
+    }
+
+    private LogLatencyStats latencia(String metodo) {
+        return aspecto.getEstatisticasLatencia().stream()
+                .filter(stats -> stats.metodo().contains("." + metodo + "("))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void comInfoDesligadoNenhumArgumentoEhRenderizado() {
+        logger.setLevel(Level.ERROR);
+        Contador contador = new Contador();
+
+        assertEquals("x", servico.ecoar("x", contador));
+        assertThrows(IllegalStateException.class, () -> servico.falhar(contador));
+
+        assertEquals(0, contador.renderizacoes.get());
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.ERROR, appender.list.get(0).getLevel());
+        assertEquals(1, latencia("ecoar").sucesso().quantidade());
+        assertEquals(1, latencia("falhar").erro().quantidade());
+    }
+
+    @Test
+    void entradaESaidaTrazemArgumentosERetorno() {
+        assertEquals("x", servico.ecoar("x", new Contador()));
+
+        assertEquals(2, appender.list.size());
+        String entrada = appender.list.get(0).getFormattedMessage();
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+        assertTrue(entrada.contains("@LogAutomatico (ENTRADA)"));
+        assertTrue(entrada.contains("- Descricao: Ecoar"));
+        assertTrue(entrada.contains("- Metodo: ecoar(java.lang.String, " + Contador.class.getName() + ")"));
+        assertTrue(entrada.contains("1. texto = String(x)"));
+        assertTrue(entrada.contains("2. contador = Contador(contador-1)"));
+
+        String saida = appender.list.get(1).getFormattedMessage();
+        assertEquals(Level.INFO, appender.list.get(1).getLevel());
+        assertTrue(saida.contains("@LogAutomatico (SAIDA)"));
+        assertTrue(saida.contains("- Retorno: String(x)"));
+    }
+
+    @Test
+    void erroTrazCausaMensagemOrigemEExcecao() {
+        assertThrows(IllegalStateException.class, () -> servico.falhar(new Contador()));
+
+        assertEquals(2, appender.list.size());
+        ILoggingEvent erro = appender.list.get(1);
+        assertEquals(Level.ERROR, erro.getLevel());
+        String mensagem = erro.getFormattedMessage();
+        assertTrue(mensagem.contains("@LogAutomatico (ERRO)"));
+        assertTrue(mensagem.contains("- Causa: IllegalStateException"));
+        assertTrue(mensagem.contains("- Mensagem: 'falha'"));
+        assertTrue(mensagem.contains("- Origem: " + Servico.class.getName() + ".falhar("));
+        assertEquals(IllegalStateException.class.getName(), erro.getThrowableProxy().getClassName());
+    }
+
+    @Test
+    void apenasOsArgumentosSelecionadosSaoRegistrados() {
+        servico.selecionar("a", "b");
+
+        String entrada = appender.list.get(0).getFormattedMessage();
+        assertTrue(entrada.contains("1. b = String(b)"));
+        assertFalse(entrada.contains("String(a)"));
+        assertFalse(appender.list.get(1).getFormattedMessage().contains("String(ab)"));
+    }
+
+    @Test
+    void documentosSaoMascarados() {
+        servico.consultar("529.982.247-25");
+
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("1. cpf = String(***.982.247-**)"));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("String(contribuinte ***.982.247-**)"));
+        appender.list.forEach(event -> assertFalse(event.getFormattedMessage().contains("529.982.247-25")));
+    }
+
+    @Test
+    void argumentosSoSaoRenderizadosAoFormatarAMensagem() {
+        Contador contador = new Contador();
+        servico.ecoar("x", contador);
+
+        assertEquals(0, contador.renderizacoes.get());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("Contador(contador-1)"));
+        assertEquals(1, contador.renderizacoes.get());
+    }
+
+    @Test
+    void planoDoMetodoEhReaproveitadoEntreChamadas() {
+        servico.ecoar("x", new Contador());
+        servico.ecoar("y", new Contador());
+
+        assertSame(appender.list.get(0).getMessage(), appender.list.get(2).getMessage());
+        assertSame(appender.list.get(1).getMessage(), appender.list.get(3).getMessage());
+        assertEquals(1, aspecto.getEstatisticasLatencia().size());
+        assertEquals(2, latencia("ecoar").sucesso().quantidade());
+    }
+}
@@ -0,0 +1,87 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import br.gov.ce.pge.nova_divida_utils.utils.CpfCnpjValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogDocumentMaskerTest {
+
+    private static String mascarar(String texto, boolean validarDigitos) {
+        StringBuilder builder = new StringBuilder(texto);
+        new LogDocumentMasker(validarDigitos).mask(builder, 0);
+        return builder.toString();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "156.846.111-92|***.846.111-**",
+            "15684611192|***846111**",
+            "44.679.387/0001-20|**.679.387/0001-**",
+            "44679387000120|**6793870001**",
+            "cpf=156.846.111-92, cnpj=44679387000120|cpf=***.846.111-**, cnpj=**6793870001**",
+            "String(15684611192)|String(***846111**)"})
+    void mascaraDocumentosValidos(String texto, String esperado) {
+        assertEquals(esperado, mascarar(texto, true));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "123.456.789-00",
+            "12345678900",
+            "156846111920",
+            "1156.846.111-92",
+            "156.846.111-9",
+            "44.679.387/0001-2",
+            "protocolo 1234567890123"})
+    void mantemNumerosQueNaoSaoDocumentosValidos(String texto) {
+        assertEquals(texto, mascarar(texto, true));
+    }
+
+    @Test
+    void semValidacaoMascaraQualquerNumeroNoFormato() {
+        assertEquals("***.456.789-**", mascarar("123.456.789-00", false));
+        assertEquals("**3456780001**", mascarar("12345678000100", false));
+    }
+
+    @Test
+    void mascaraApenasAPartirDoInicioInformado() {
+        StringBuilder builder = new StringBuilder("15684611192 | 15684611192");
+        new LogDocumentMasker(true).mask(builder, 12);
+        assertEquals("15684611192 | ***846111**", builder.toString());
+    }
+
+    @Test
+    void rendererMascaraValoresRenderizados() {
+        StringBuilder builder = new StringBuilder("prefixo 15684611192 ");
+        new LogRenderer(new LogAutomaticoProperties.Renderizacao()).render(new String[]{"156.846.111-92"}, builder);
+        assertEquals("prefixo 15684611192 String[]([***.846.111-**])", builder.toString());
+
+        LogAutomaticoProperties.Renderizacao config = new LogAutomaticoProperties.Renderizacao();
+        config.setMascararDocumentos(false);
+        builder.setLength(0);
+        new LogRenderer(config).render("15684611192", builder);
+        assertEquals("String(15684611192)", builder.toString());
+    }
+
+    /** A conferência dos dígitos durante a varredura concorda com {@link CpfCnpjValidator}. */
+    @Test
+    void validacaoDosDigitosConcordaComOValidador() {
+        Random random = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            String cpf = String.format("%011d", Math.floorMod(random.nextLong(), 100_000_000_000L));
+            String cnpj = String.format("%014d", Math.floorMod(random.nextLong(), 100_000_000_000_000L));
+            assertEquals(CpfCnpjValidator.checkCPF(cpf), !mascarar(cpf, true).equals(cpf), cpf);
+            assertEquals(CpfCnpjValidator.checkCNPJ(cnpj), !mascarar(cnpj, true).equals(cnpj), cnpj);
+        }
+        for (char d = '0'; d <= '9'; d++) {
+            String iguais = String.valueOf(d).repeat(11);
+            assertEquals(iguais, mascarar(iguais, true));
+        }
+        assertEquals("00000000000000", mascarar("00000000000000", true));
+    }
+}
@@ -0,0 +1,35 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogJsonEncoderTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "texto|\"texto\"",
+            "com \"aspas\"|\"com \\\"aspas\\\"\"",
+            "barra \\ invertida|\"barra \\\\ invertida\""})
+    void appendStringEscapaCaracteresEspeciais(String entrada, String esperado) {
+        StringBuilder builder = new StringBuilder();
+        LogJsonEncoder.appendString(builder, entrada);
+        assertEquals(esperado, builder.toString());
+    }
+
+    @Test
+    void appendStringEscapaCaracteresDeControle() {
+        StringBuilder builder = new StringBuilder();
+        LogJsonEncoder.appendString(builder, "a\nb\tc\u0001");
+        assertEquals("\"a\\nb\\tc\\u0001\"", builder.toString());
+    }
+
+    @Test
+    void prefixEKeyGeramJsonEstavel() {
+        assertEquals("{\"description\":\"Descricao\",\"class\":\"br.Classe\",\"method\":\"metodo(int)\",\"moment\":\"ENTRADA\"",
+                LogJsonEncoder.prefix(LogPlan.ENTRADA, "Descricao", "br.Classe", "metodo(int)"));
+        assertEquals("\"argumento\":", LogJsonEncoder.key("argumento"));
+    }
+}
@@ -0,0 +1,105 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRendererTest {
+
+    private static String render(Object value, LogAutomaticoProperties.Renderizacao config) {
+        StringBuilder builder = new StringBuilder();
+        new LogRenderer(config).render(value, builder);
+        return builder.toString();
+    }
+
+    private static String render(Object value) {
+        return render(value, new LogAutomaticoProperties.Renderizacao());
+    }
+
+    record Devedor(String nome) {
+        @Override
+        public String toString() {
+            return "Devedor(nome=" + nome + ")";
+        }
+    }
+
+    @Test
+    void mantemFormatoClasseValor() {
+        assertEquals("(null)", render(null));
+        assertEquals("String(abc)", render("abc"));
+        assertEquals("Integer(1)", render(1));
+        assertEquals("Devedor(nome=Ana)", render(new Devedor("Ana")));
+        assertEquals("ArrayList([a, b])", render(new ArrayList<>(List.of("a", "b"))));
+        assertEquals("int[]([1, 2, 3])", render(new int[]{1, 2, 3}));
+    }
+
+    @Test
+    void limitaElementosDeColecoesEEntradasDeMapas() {
+        LogAutomaticoProperties.Renderizacao config = new LogAutomaticoProperties.Renderizacao();
+        config.setMaxElementos(2);
+        config.setMaxEntradasMapa(1);
+
+        List<Integer> lista = IntStream.range(0, 50_000).boxed().toList();
+        assertTrue(render(lista, config).endsWith("([0, 1, ...(+49998 elementos)])"));
+
+        Map<String, Integer> mapa = new LinkedHashMap<>();
+        mapa.put("a", 1);
+        mapa.put("b", 2);
+        assertEquals("LinkedHashMap({a=1, ...(+1 elementos)})", render(mapa, config));
+    }
+
+    @Test
+    void limitaProfundidade() {
+        LogAutomaticoProperties.Renderizacao config = new LogAutomaticoProperties.Renderizacao();
+        config.setMaxProfundidade(1);
+        assertEquals("ArrayList([[...]])", render(new ArrayList<>(List.of(List.of(1))), config));
+    }
+
+    @Test
+    void limitaCaracteresComMarcador() {
+        LogAutomaticoProperties.Renderizacao config = new LogAutomaticoProperties.Renderizacao();
+        config.setMaxCaracteres(30);
+
+        String renderizado = render("x".repeat(1_000), config);
+        assertEquals(30, renderizado.length());
+        assertTrue(renderizado.startsWith("String(xxx"));
+        assertTrue(renderizado.endsWith(LogRenderer.TRUNCADO));
+
+        String lista = render(IntStream.range(0, 1_000).boxed().toList(), config);
+        assertTrue(lista.length() <= 30);
+        assertTrue(lista.endsWith(LogRenderer.TRUNCADO));
+    }
+
+    @Test
+    void documentoCortadoPeloLimiteEhMascarado() {
+        LogAutomaticoProperties.Renderizacao config = new LogAutomaticoProperties.Renderizacao();
+        config.setMaxCaracteres(30);
+
+        assertEquals("String(cpf ***.98...(truncado)", render("cpf 529.982.247-25 e mais texto", config));
+        assertEquals("String(cpf ***982...(truncado)", render("cpf 52998224725 e mais texto", config));
+        assertEquals("ArrayList([cpf **...(truncado)",
+                render(new ArrayList<>(List.of("cpf 529.982.247-25", "e mais texto")), config));
+        // Dígitos verificadores inválidos: não é um cpf e não é mascarado.
+        assertEquals("String(cpf 529.98...(truncado)", render("cpf 529.982.247-26 e mais texto", config));
+    }
+
+    @Test
+    void limiteComMascaramentoIgualAoSemMascaramento() {
+        LogAutomaticoProperties.Renderizacao semMascara = new LogAutomaticoProperties.Renderizacao();
+        semMascara.setMascararDocumentos(false);
+        for (int limite = 13; limite < 60; limite++) {
+            LogAutomaticoProperties.Renderizacao comMascara = new LogAutomaticoProperties.Renderizacao();
+            comMascara.setMaxCaracteres(limite);
+            semMascara.setMaxCaracteres(limite);
+            Object valor = List.of("sem documento", "x".repeat(limite), 12345);
+            assertEquals(render(valor, semMascara), render(valor, comMascara));
+            assertEquals(render("y".repeat(limite), semMascara), render("y".repeat(limite), comMascara));
+        }
+    }
+}
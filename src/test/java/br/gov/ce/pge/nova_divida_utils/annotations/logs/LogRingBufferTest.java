@@ -0,0 +1,76 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingBufferTest {
+
+    @Test
+    void capacidadeArredondadaParaPotenciaDeDois() {
+        assertEquals(8, new LogRingBuffer<String>(5).capacity());
+        assertEquals(8, new LogRingBuffer<String>(8).capacity());
+        assertEquals(2, new LogRingBuffer<String>(0).capacity());
+    }
+
+    @Test
+    void ofertaFalhaQuandoCheioEPreservaOrdem() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void produtoresEConsumidoresConcorrentesNaoPerdemNemDuplicamElementos() throws InterruptedException {
+        int produtores = 4;
+        int porProdutor = 2_000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        ConcurrentHashMap<Integer, Boolean> recebidos = new ConcurrentHashMap<>();
+        AtomicInteger duplicados = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(produtores);
+        ExecutorService executor = Executors.newFixedThreadPool(produtores + 2);
+
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            executor.execute(() -> {
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                fim.countDown();
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            executor.execute(() -> {
+                while (fim.getCount() > 0 || buffer.size() > 0) {
+                    Integer valor = buffer.poll();
+                    if (valor != null && recebidos.put(valor, Boolean.TRUE) != null) {
+                        duplicados.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(0, duplicados.get());
+        assertEquals(produtores * porProdutor, recebidos.size());
+    }
+}
@@ -0,0 +1,52 @@
+package br.gov.ce.pge.nova_divida_utils.annotations.logs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    static class Anotados {
+
+        @LogAutomatico(descricao = "sem restricao")
+        void semRestricao() {}
+
+        @LogAutomatico(descricao = "limitado", maxEventosPorSegundo = 5)
+        void limitado() {}
+
+        @LogAutomatico(descricao = "nunca", taxaAmostragem = 0)
+        void nunca() {}
+    }
+
+    private static LogAutomatico anotacao(String metodo) throws NoSuchMethodException {
+        return Anotados.class.getDeclaredMethod(metodo).getAnnotation(LogAutomatico.class);
+    }
+
+    @Test
+    void semRestricaoNaoCriaAmostrador() throws NoSuchMethodException {
+        assertNull(LogSampler.of(anotacao("semRestricao")));
+    }
+
+    @Test
+    void limiteDeTaxaAceitaApenasARajadaDeUmSegundo() throws NoSuchMethodException {
+        LogSampler sampler = LogSampler.of(anotacao("limitado"));
+        int aceitas = 0;
+        for (int i = 0; i < 20; i++) {
+            if (sampler.tryAcquire()) {
+                aceitas++;
+            }
+        }
+        assertTrue(aceitas >= 5 && aceitas < 20, "aceitas: " + aceitas);
+        assertEquals(20 - aceitas, sampler.drainSuprimidos());
+        assertEquals(0, sampler.drainSuprimidos());
+    }
+
+    @Test
+    void taxaZeroSuprimeTodasAsChamadas() throws NoSuchMethodException {
+        LogSampler sampler = LogSampler.of(anotacao("nunca"));
+        for (int i = 0; i < 10; i++) {
+            assertFalse(sampler.tryAcquire());
+        }
+        assertEquals(10, sampler.drainSuprimidos());
+    }
+}
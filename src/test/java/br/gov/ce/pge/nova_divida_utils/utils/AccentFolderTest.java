@@ -0,0 +1,63 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AccentFolderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "JOÃO CONCEIÇÃO DE ARAÚJO MÁRIO",
+            "Comércio & Indústria Irmãos Gonçalves (Filial 02) Ltda.",
+            "àáâãäåçèéêëìíîïñòóôõöùúûüýÿ ÀÁÂÃÄÅÇÈÉÊËÌÍÎÏÑÒÓÔÕÖÙÚÛÜÝ",
+            "ª º ° ² ³ ¹ ½ ß æ Æ ø Ø ð Þ µ ¨ ´ ¸",
+            "Ąą Ćć Ěě Łł Őő Řř Šš Žž Ŀŀ ŉ ſ",
+            "áȩ̃ ḉ",
+            "́ͯ início com marca",
+            "São Paulo — ação € ☃ 😀",
+            "Ελληνικά ά ή ώ",
+            "한국어 가",
+            "ﬁ Å K 𝐀",
+            ""
+    })
+    void deveSerIgualANormalizacaoCompleta(String texto) {
+        assertEquals(normalizeAnterior(texto), AccentFolder.fold(texto));
+    }
+
+    @Test
+    void deveSerIgualANormalizacaoCompletaEmCadaCaractere() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            String texto = "a" + (char) c + "b";
+            assertEquals(normalizeAnterior(texto), AccentFolder.fold(texto), () -> "U+" + Integer.toHexString(texto.charAt(1)));
+        }
+    }
+
+    @Test
+    void deveRetornarMesmaInstanciaSemAcentos() {
+        String ascii = "JOSE DA SILVA SANTOS 123 !@#";
+        assertSame(ascii, AccentFolder.fold(ascii));
+        String latin1 = "ß æ ø";
+        assertSame(latin1, AccentFolder.fold(latin1));
+        String vazio = "";
+        assertSame(vazio, AccentFolder.fold(vazio));
+    }
+
+    @Test
+    void deveRetornarNuloParaNulo() {
+        assertNull(AccentFolder.fold(null));
+    }
+
+    /**
+     * Implementação anterior de {@link StringTools#normalize(String)}.
+     */
+    private static String normalizeAnterior(String str) {
+        return Normalizer.normalize(str, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
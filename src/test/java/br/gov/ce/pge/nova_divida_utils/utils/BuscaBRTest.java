@@ -0,0 +1,50 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BuscaBRTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "SOUZA, SOUSA",
+            "LUIZ, Luís",
+            "FELIPE, PHILIPE",
+            "THIAGO, TIAGO",
+            "WALTER, VALTER",
+            "YARA, IARA",
+            "KÁTIA, CATIA",
+            "CONCEIÇÃO, CONCEISSAO",
+            "RAFAEL, RAPHAEL",
+            "GONÇALVES, GONSALVES",
+            "XAVIER, CHAVIER",
+            "MATTOS, MATOS"
+    })
+    void deveGerarMesmoCodigoParaGrafiasEquivalentes(String nome, String variacao) {
+        assertEquals(BuscaBR.encode(nome), BuscaBR.encode(variacao));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "SILVA, SANTOS",
+            "MARIA, MARTA",
+            "PEDRO, PAULO"
+    })
+    void deveGerarCodigosDiferentesParaNomesDiferentes(String nome, String outro) {
+        assertNotEquals(BuscaBR.encode(nome), BuscaBR.encode(outro));
+    }
+
+    @Test
+    void deveCodificarSemVogaisNemRepeticoes() {
+        assertEquals("S", BuscaBR.encode("SOUSA"));
+        assertEquals("RS", BuscaBR.encode("ROSSI"));
+        assertEquals("", BuscaBR.encode("EU"));
+        assertEquals("", BuscaBR.encode(""));
+        assertNull(BuscaBR.encode(null));
+    }
+}
@@ -0,0 +1,102 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CharFilterTest {
+
+    private static final CharFilter FORMATACAO = CharFilter.of(' ', '.', '-', '/');
+    private static final CharFilter ESPACOS = CharFilter.of(" \t\n  ");
+
+    @Test
+    void deveConsultarCaracteresLatin1EDemais() {
+        CharFilter filtro = CharFilter.of("aÿĀ€￿");
+        assertTrue(filtro.contains('a'));
+        assertTrue(filtro.contains('ÿ'));
+        assertTrue(filtro.contains('Ā'));
+        assertTrue(filtro.contains('€'));
+        assertTrue(filtro.contains('￿'));
+        assertFalse(filtro.contains('b'));
+        assertFalse(filtro.contains('þ'));
+        assertFalse(filtro.contains('ā'));
+    }
+
+    @ParameterizedTest
+    @MethodSource("gerarValoresRemocao")
+    void deveRemoverComoImplementacaoAnterior(String entrada, String saida) {
+        assertEquals(saida, FORMATACAO.remove(entrada));
+        assertEquals(saida, removeCharactersAnterior(entrada, ' ', '.', '-', '/'));
+        assertEquals(entrada.length() - saida.length(), FORMATACAO.count(entrada));
+    }
+
+    public static Stream<Arguments> gerarValoresRemocao() {
+        return Stream.of(
+                Arguments.arguments("000.000.001-91", "00000000191"),
+                Arguments.arguments("44.679.387/0001-20", "44679387000120"),
+                Arguments.arguments(" 123 . 456 ", "123456"),
+                Arguments.arguments("...", ""),
+                Arguments.arguments("", ""),
+                Arguments.arguments("1.", "1"),
+                Arguments.arguments(".1", "1")
+        );
+    }
+
+    @Test
+    void deveRetornarMesmaInstanciaQuandoNadaMuda() {
+        String digitos = "00000000191";
+        assertSame(digitos, FORMATACAO.remove(digitos));
+        assertSame(digitos, CharFilter.of("0123456789").retain(digitos));
+        StringBuilder builder = new StringBuilder(digitos);
+        assertSame(builder, FORMATACAO.remove(builder));
+        String nome = "JOSE DA SILVA";
+        assertSame(nome, ESPACOS.collapse(nome, ' '));
+    }
+
+    @Test
+    void deveManterApenasCaracteresDoConjunto() {
+        assertEquals("00000000191", CharFilter.of("0123456789").retain("000.000.001-91"));
+        assertEquals("", CharFilter.of("0123456789").retain("abc"));
+        assertEquals("12", CharFilter.of("0123456789").retain(new StringBuilder("a1b2")));
+    }
+
+    @Test
+    void deveJuntarSequenciasDoConjunto() {
+        assertEquals(" JOSE DA SILVA ", ESPACOS.collapse("  JOSE \t DA SILVA\n", ' '));
+        assertEquals("JOSE DA SILVA", ESPACOS.collapse("JOSE\tDA SILVA", ' '));
+        assertEquals("JOSE_DA_SILVA", ESPACOS.collapse("JOSE DA  SILVA", '_'));
+        assertEquals("A B", ESPACOS.collapse("A  B", ' '));
+        assertEquals("", ESPACOS.collapse("", ' '));
+    }
+
+    @Test
+    void naoDeveSerAlteradoPeloArrayOriginal() {
+        char[] chars = {'a'};
+        CharFilter filtro = CharFilter.of(chars);
+        chars[0] = 'b';
+        assertTrue(filtro.contains('a'));
+        assertFalse(filtro.contains('b'));
+    }
+
+    /**
+     * Implementação anterior de {@link StringTools#removeCharacters(String, char...)}.
+     */
+    private static String removeCharactersAnterior(final String str, char... characters) {
+        StringBuilder ret = new StringBuilder(str);
+        int pos;
+        for (char character : characters) {
+            while ((pos = ret.indexOf(String.valueOf(character))) != -1) {
+                ret.deleteCharAt(pos);
+            }
+        }
+        return ret.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CnpjAlfanumericoTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "12.ABC.345/01DE-35",
+            "12ABC34501DE35",
+            "12abc34501de35",
+            "44.679.387/0001-20",
+            "72039208000125"})
+    void cnpjsValidos(String cnpj) {
+        assertTrue(CpfCnpjUtils.checkCNPJAlfanumerico(cnpj));
+        assertTrue(CpfCnpjUtils.checkCPFCNPJAlfanumerico(cnpj));
+        char[] chars = cnpj.toCharArray();
+        assertTrue(CpfCnpjValidator.checkCNPJAlfanumerico(chars, 0, chars.length));
+        byte[] bytes = cnpj.getBytes(StandardCharsets.US_ASCII);
+        assertTrue(CpfCnpjValidator.checkCNPJAlfanumerico(bytes, 0, bytes.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "12.ABC.345/01DE-36",
+            "12ABC34501DE3A",
+            "12ABC34501DEA5",
+            "12ÁBC34501DE35",
+            "12ABC34501DE3",
+            "12ABC34501DE355",
+            "00000000000000",
+            "12_ABC34501DE35",
+            ""})
+    void cnpjsInvalidos(String cnpj) {
+        assertFalse(CpfCnpjUtils.checkCNPJAlfanumerico(cnpj));
+        assertFalse(CpfCnpjUtils.checkCNPJAlfanumerico(null));
+    }
+
+    @Test
+    void cpfContinuaValidoNaValidacaoAlfanumerica() {
+        assertTrue(CpfCnpjUtils.checkCPFCNPJAlfanumerico("156.846.111-92"));
+        assertFalse(CpfCnpjUtils.checkCPFCNPJAlfanumerico("156.846.111-93"));
+        assertFalse(CpfCnpjUtils.checkCNPJ("12.ABC.345/01DE-35"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "156.846.111-92", "15684611192", "15684611193", "1568461119A", "156.846.111-9",
+            "12.ABC.345/01DE-35", "12ABC34501DE36", "44.679.387/0001-20", "446793870001200",
+            "11111111111", "00000000000000", "١٥٦٨٤٦١١١٩٢", "12_ABC34501DE35", "", "-./ "})
+    void cpfOuCnpjAlfanumericoEquivaleAValidarCadaTipo(String documento) {
+        assertEquals(CpfCnpjUtils.checkCPF(documento) || CpfCnpjUtils.checkCNPJAlfanumerico(documento),
+                CpfCnpjUtils.checkCPFCNPJAlfanumerico(documento));
+        assertFalse(CpfCnpjUtils.checkCPFCNPJAlfanumerico(null));
+    }
+
+    /** Para cnpjs numéricos o resultado é o mesmo da validação numérica. */
+    @Test
+    void mesmoResultadoDaValidacaoNumerica() {
+        Random random = new Random(18);
+        for (int i = 0; i < 100_000; i++) {
+            String cnpj = String.format("%014d", Math.floorMod(random.nextLong(), 100_000_000_000_000L));
+            assertEquals(CpfCnpjUtils.checkCNPJ(cnpj), CpfCnpjUtils.checkCNPJAlfanumerico(cnpj), cnpj);
+        }
+        for (String cnpj : new String[]{"44679387000120", "72039208000125", "44529023000163"}) {
+            assertTrue(CpfCnpjUtils.checkCNPJAlfanumerico(cnpj));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "12ABC34501DE35, 12.ABC.345/01DE-35",
+            "12abc34501de35, 12.ABC.345/01DE-35",
+            "44679387000120, 44.679.387/0001-20",
+            "12ABC34501DEAB, 12ABC34501DEAB",
+            "12ABC-34501DE35, 12ABC-34501DE35"})
+    void formataCnpjAlfanumerico(String valor, String formatado) {
+        assertEquals(formatado, CpfCnpjUtils.formatCnpjAlfanumerico(valor));
+    }
+
+    @Test
+    void validaLotesMistos() {
+        BitSet validos = CpfCnpjBatchValidator.checkCPFCNPJAlfanumerico(
+                new String[]{"12.ABC.345/01DE-35", "156.846.111-92", "12.ABC.345/01DE-36", null, "44679387000120"});
+
+        assertEquals("{0, 1, 4}", validos.toString());
+    }
+}
@@ -0,0 +1,101 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjBatchValidatorTest {
+
+    @Test
+    void validaArraysEListas() {
+        String[] documentos = {"156.846.111-92", "123.456.789-00", null, "44.679.387/0001-20", "abc", "44679387000120"};
+
+        BitSet esperado = new BitSet();
+        esperado.set(0);
+        esperado.set(3);
+        esperado.set(5);
+
+        assertEquals(esperado, CpfCnpjBatchValidator.checkCPFCNPJ(documentos));
+        assertEquals(esperado, CpfCnpjBatchValidator.checkCPFCNPJ(new ArrayList<>(java.util.Arrays.asList(documentos))));
+    }
+
+    /**
+     * Lotes acima do tamanho de um bloco são validados em paralelo e devem coincidir com a validação
+     * individual, inclusive nas fronteiras entre blocos.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 63, 64, 65, 100_003})
+    void mesmoResultadoDaValidacaoIndividual(int quantidade) {
+        Random random = new Random(quantidade);
+        List<String> cpfs = new ArrayList<>();
+        List<String> cnpjs = new ArrayList<>();
+        StringBuilder bufferCpf = new StringBuilder();
+        StringBuilder bufferCnpj = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            String cpf = documento(random, 11);
+            String cnpj = documento(random, 14);
+            cpfs.add(cpf);
+            cnpjs.add(cnpj);
+            bufferCpf.append(cpf);
+            bufferCnpj.append(cnpj);
+        }
+
+        BitSet validosCpf = CpfCnpjBatchValidator.checkCPF(bufferCpf.toString().getBytes(StandardCharsets.ISO_8859_1), quantidade);
+        BitSet validosCnpj = CpfCnpjBatchValidator.checkCNPJ(bufferCnpj.toString().getBytes(StandardCharsets.ISO_8859_1), quantidade);
+        BitSet validosLista = CpfCnpjBatchValidator.checkCPFCNPJ(cpfs);
+
+        for (int i = 0; i < quantidade; i++) {
+            assertEquals(CpfCnpjUtils.checkCPF(cpfs.get(i)), validosCpf.get(i), cpfs.get(i));
+            assertEquals(CpfCnpjUtils.checkCNPJ(cnpjs.get(i)), validosCnpj.get(i), cnpjs.get(i));
+            assertEquals(validosCpf.get(i), validosLista.get(i), cpfs.get(i));
+        }
+        assertTrue(quantidade < 1000 || validosCpf.cardinality() > quantidade / 20);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"11111111111", "00000000000", "1568461119/", "15684611192"})
+    void casosEspeciaisDeCpf(String cpf) {
+        byte[] buffer = cpf.getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals(CpfCnpjUtils.checkCPF(cpf), CpfCnpjBatchValidator.checkCPF(buffer, 1).get(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"00000000000000", "11111111111111", "4467938700012:", "44679387000120"})
+    void casosEspeciaisDeCnpj(String cnpj) {
+        byte[] buffer = cnpj.getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals(CpfCnpjUtils.checkCNPJ(cnpj), CpfCnpjBatchValidator.checkCNPJ(buffer, 1).get(0));
+    }
+
+    @Test
+    void rejeitaBufferMenorQueAQuantidade() {
+        assertThrows(IllegalArgumentException.class, () -> CpfCnpjBatchValidator.checkCPF(new byte[21], 2));
+    }
+
+    /** Dígitos aleatórios, com os verificadores corrigidos em parte dos casos. */
+    private static String documento(Random random, int tamanho) {
+        char[] chars = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        if (random.nextInt(4) == 0) {
+            chars[random.nextInt(tamanho)] = "x/:. ".charAt(random.nextInt(5));
+        } else if (random.nextBoolean()) {
+            for (int d = 0; d < 100; d++) {
+                chars[tamanho - 2] = (char) ('0' + d / 10);
+                chars[tamanho - 1] = (char) ('0' + d % 10);
+                if (CpfCnpjValidator.checkCPFCNPJ(new String(chars))) {
+                    break;
+                }
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,134 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjFileValidatorTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path escrever(String conteudo) throws IOException {
+        return Files.writeString(diretorio.resolve("entrada.txt"), conteudo, StandardCharsets.ISO_8859_1);
+    }
+
+    private String ler(String nome) throws IOException {
+        return Files.readString(diretorio.resolve(nome), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void separaLinhasDeCsvComCabecalho() throws IOException {
+        Path entrada = escrever("""
+                nome;documento;valor
+                Ana;156.846.111-92;10
+                Bruno;123.456.789-00;20
+
+                Empresa;"44.679.387/0001-20";30\r
+                Sem documento
+                Carla;15684611192""");
+
+        CpfCnpjFileValidator.Resultado resultado = CpfCnpjFileValidator.csv(';', 1).cabecalho(true).build()
+                .processar(entrada, diretorio.resolve("validas.txt"), diretorio.resolve("invalidas.txt"));
+
+        assertEquals(new CpfCnpjFileValidator.Resultado(5, 3, 2), resultado);
+        assertEquals("""
+                nome;documento;valor
+                Ana;156.846.111-92;10
+                Empresa;"44.679.387/0001-20";30\r
+                Carla;15684611192
+                """, ler("validas.txt"));
+        assertEquals("""
+                nome;documento;valor
+                Bruno;123.456.789-00;20
+                Sem documento
+                """, ler("invalidas.txt"));
+    }
+
+    @Test
+    void delimitadorEntreAspasNaoSeparaColunas() throws IOException {
+        Path entrada = escrever("""
+                "SILVA, JOSE",123.456.789-09,10
+                "COMERCIO ""BOM, BARATO"" LTDA","44.679.387/0001-20",20
+                "SOUZA, ANA",123.456.789-00,30
+                """);
+
+        CpfCnpjFileValidator.Resultado resultado = CpfCnpjFileValidator.csv(',', 1).build()
+                .processar(entrada, diretorio.resolve("validas.txt"), diretorio.resolve("invalidas.txt"));
+
+        assertEquals(new CpfCnpjFileValidator.Resultado(3, 2, 1), resultado);
+        assertEquals("""
+                "SILVA, JOSE",123.456.789-09,10
+                "COMERCIO ""BOM, BARATO"" LTDA","44.679.387/0001-20",20
+                """, ler("validas.txt"));
+        assertEquals("\"SOUZA, ANA\",123.456.789-00,30\n", ler("invalidas.txt"));
+
+        CpfCnpjFileValidator.csv(',', 1).normalizar(true).build()
+                .processar(entrada, diretorio.resolve("normalizadas.txt"), diretorio.resolve("invalidas.txt"));
+        assertEquals("""
+                "SILVA, JOSE",12345678909,10
+                "COMERCIO ""BOM, BARATO"" LTDA",44679387000120,20
+                """, ler("normalizadas.txt"));
+    }
+
+    @Test
+    void normalizaDocumentoEmLarguraFixa() throws IOException {
+        Path entrada = escrever("""
+                001 156.846.111-92    ANA
+                002 44.679.387/0001-20BRUNO
+                003 99999999999       CARLA
+                """);
+
+        CpfCnpjFileValidator.Resultado resultado = CpfCnpjFileValidator.larguraFixa(4, 18).normalizar(true).build()
+                .processar(entrada, diretorio.resolve("validas.txt"), diretorio.resolve("invalidas.txt"));
+
+        assertEquals(new CpfCnpjFileValidator.Resultado(3, 2, 1), resultado);
+        assertEquals("""
+                001 15684611192       ANA
+                002 44679387000120    BRUNO
+                """, ler("validas.txt"));
+        assertEquals("003 99999999999       CARLA\n", ler("invalidas.txt"));
+    }
+
+    /**
+     * Blocos pequenos forçam a divisão do arquivo em muitos trechos processados em paralelo; a ordem das
+     * linhas nas saídas deve ser a mesma da entrada.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    void blocosParalelosPreservamAOrdem(int paralelismo) throws IOException {
+        Random random = new Random(7);
+        StringBuilder conteudo = new StringBuilder();
+        List<String> esperadasValidas = new ArrayList<>();
+        List<String> esperadasInvalidas = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String documento = random.nextBoolean() ? "156.846.111-92" : Long.toString(random.nextLong() % 100_000_000_000L);
+            String linha = i + "," + documento + ",x";
+            conteudo.append(linha).append('\n');
+            (CpfCnpjUtils.checkCPFCNPJ(documento) ? esperadasValidas : esperadasInvalidas).add(linha);
+        }
+        Path entrada = escrever(conteudo.toString());
+
+        CpfCnpjFileValidator.Resultado resultado = CpfCnpjFileValidator.csv(',', 1)
+                .paralelismo(paralelismo).tamanhoBloco(1000).build()
+                .processar(entrada, diretorio.resolve("validas.txt"), diretorio.resolve("invalidas.txt"));
+
+        assertEquals(new CpfCnpjFileValidator.Resultado(5_000, esperadasValidas.size(), esperadasInvalidas.size()), resultado);
+        assertEquals(esperadasValidas, ler("validas.txt").lines().toList());
+        assertEquals(esperadasInvalidas, ler("invalidas.txt").lines().toList());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(3, arquivos.count());
+        }
+    }
+}
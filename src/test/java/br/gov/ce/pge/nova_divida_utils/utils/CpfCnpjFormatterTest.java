@@ -0,0 +1,70 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.swing.text.MaskFormatter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjFormatterTest {
+
+    /**
+     * Mesmo resultado da formatação original com {@link MaskFormatter}, inclusive em valores curtos, longos,
+     * com caracteres inválidos e com dígitos Unicode.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"00000000191", "15684611192", "0", "191", "", "123456789123456789",
+            "12345678912abc", "1234567891a", "-1234567890", "123.456.789-01", "aaaaaaaaaaa",
+            "44679387000120", "12345678OOO1OO", "4467938700012", "446793870001200",
+            "١٢٣٤٥٦٧٨٩٠١", "1234567890１"})
+    void mesmoResultadoDoMaskFormatter(String valor) {
+        assertEquals(maskFormatter(valor, "###.###.###-##", 11), CpfCnpjUtils.formatCpf(valor));
+        assertEquals(maskFormatter(valor, "##.###.###/####-##", 14), CpfCnpjUtils.formatCnpj(valor));
+    }
+
+    @Test
+    void escreveEmArrayNaPosicaoInformada() {
+        char[] destino = new char[40];
+        int escritos = CpfCnpjFormatter.formatCpfCnpj("15684611192", destino, 2);
+        escritos += CpfCnpjFormatter.formatCpfCnpj("44679387000120", destino, 2 + escritos);
+
+        assertEquals(32, escritos);
+        assertEquals("156.846.111-9244.679.387/0001-20", new String(destino, 2, escritos));
+        assertEquals(-1, CpfCnpjFormatter.formatCpf("abc", destino, 0));
+        assertEquals('\0', destino[0]);
+    }
+
+    @Test
+    void acrescentaEmStringBuilderEAppendable() throws IOException {
+        StringBuilder relatorio = new StringBuilder();
+        assertTrue(CpfCnpjFormatter.formatCpfCnpj("15684611192", relatorio));
+        relatorio.append(';');
+        assertFalse(CpfCnpjFormatter.formatCpfCnpj("abc", relatorio));
+        assertEquals("156.846.111-92;abc", relatorio.toString());
+
+        StringWriter writer = new StringWriter();
+        assertTrue(CpfCnpjFormatter.formatCpfCnpj("44679387000120", writer));
+        assertEquals("44.679.387/0001-20", writer.toString());
+    }
+
+    @Test
+    void valorNuloEhFormatadoComoZeros() {
+        assertEquals("000.000.000-00", CpfCnpjUtils.formatCpf(null));
+        assertEquals("00.000.000/0000-00", CpfCnpjUtils.formatCnpj(null));
+    }
+
+    private static String maskFormatter(String valor, String mascara, int tamanho) {
+        try {
+            MaskFormatter formatter = new MaskFormatter(mascara);
+            formatter.setValueContainsLiteralCharacters(false);
+            return formatter.valueToString(StringTools.lPad(valor, tamanho, '0'));
+        } catch (ParseException e) {
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjGeneratorTest {
+
+    @ParameterizedTest
+    @CsvSource({"156846111, 92", "1, 91", "13163591, 31"})
+    void calculaDigitosVerificadoresDeCpf(long base, int digitos) {
+        assertEquals(digitos, CpfCnpjUtils.cpfCheckDigits(base));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"446793870001, 20", "720392080001, 25", "445290230001, 63"})
+    void calculaDigitosVerificadoresDeCnpj(long base, int digitos) {
+        assertEquals(digitos, CpfCnpjUtils.cnpjCheckDigits(base));
+        assertEquals(digitos, CpfCnpjUtils.cnpjCheckDigits(String.format("%012d", base)));
+    }
+
+    @Test
+    void calculaDigitosVerificadoresDeCnpjAlfanumerico() {
+        assertEquals(35, CpfCnpjUtils.cnpjCheckDigits("12ABC34501DE"));
+        assertThrows(IllegalArgumentException.class, () -> CpfCnpjUtils.cnpjCheckDigits("12ABC34501D"));
+        assertThrows(IllegalArgumentException.class, () -> CpfCnpjUtils.cnpjCheckDigits("12ABC34501D_"));
+        assertThrows(IllegalArgumentException.class, () -> CpfCnpjUtils.cpfCheckDigits(1_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> CpfCnpjUtils.cnpjCheckDigits(-1));
+    }
+
+    @Test
+    void geraDocumentosValidosEInvalidos() {
+        CpfCnpjGenerator gerador = new CpfCnpjGenerator(19);
+        char[] buffer = new char[18];
+        for (int i = 0; i < 20_000; i++) {
+            for (Documento.Tipo tipo : Documento.Tipo.values()) {
+                boolean valido = i % 2 == 0;
+                boolean formatado = i % 3 == 0;
+                int tamanho = gerador.next(tipo, valido, formatado, buffer, 0);
+                String documento = new String(buffer, 0, tamanho);
+
+                assertEquals(formatado ? (tipo == Documento.Tipo.CPF ? 14 : 18) : tipo.getDigitos(), tamanho);
+                boolean esperado = tipo == Documento.Tipo.CPF ? CpfCnpjUtils.checkCPF(documento) : CpfCnpjUtils.checkCNPJ(documento);
+                assertEquals(valido, esperado, documento);
+            }
+        }
+    }
+
+    @Test
+    void mesmaSementeGeraMesmaSequencia() {
+        List<String> primeira = new CpfCnpjGenerator(42).stream(Documento.Tipo.CNPJ, true, true).limit(100).toList();
+        List<String> segunda = new CpfCnpjGenerator(42).stream(Documento.Tipo.CNPJ, true, true).limit(100).toList();
+        List<String> outraSemente = new CpfCnpjGenerator(43).stream(Documento.Tipo.CNPJ, true, true).limit(100).toList();
+
+        assertEquals(primeira, segunda);
+        assertNotEquals(primeira, outraSemente);
+        assertTrue(primeira.stream().allMatch(CpfCnpjUtils::checkCNPJ));
+        assertTrue(CpfCnpjUtils.checkCPF(CpfCnpjUtils.formatCpf(Long.toString(new CpfCnpjGenerator(1).nextCpf()))));
+    }
+
+    @Test
+    void documentoFormatadoUsaAMascaraDoFormatador() {
+        for (Documento.Tipo tipo : Documento.Tipo.values()) {
+            CpfCnpjGenerator semMascara = new CpfCnpjGenerator(7);
+            CpfCnpjGenerator comMascara = new CpfCnpjGenerator(7);
+            for (int i = 0; i < 100; i++) {
+                String digitos = semMascara.next(tipo, true, false);
+                String esperado = tipo == Documento.Tipo.CPF ? CpfCnpjUtils.formatCpf(digitos) : CpfCnpjUtils.formatCnpj(digitos);
+                assertEquals(esperado, comMascara.next(tipo, true, true));
+            }
+        }
+    }
+}
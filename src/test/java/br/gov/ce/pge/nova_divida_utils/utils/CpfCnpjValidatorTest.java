@@ -0,0 +1,247 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjValidatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "000.000.001-91",
+            "156.846.111-92",
+            "15684611192",
+            "44.679.387/0001-20",
+            "44679387000120",
+            " 44 679 387 0001 20 ",
+            "\u0661\u0665\u0666\u0668\u0664\u0666\u0661\u0661\u0661\u0669\u0662",
+            "\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660\u0660"})
+    void documentosValidos(String documento) {
+        assertTrue(CpfCnpjValidator.checkCPFCNPJ(documento));
+        assertEquals(CpfCnpjUtils.checkCPFCNPJ(documento), CpfCnpjValidator.checkCPFCNPJ(documento));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "111.111.111-11",
+            "000.000.000-00",
+            "00000000000000",
+            "123.456.789-00",
+            "44.679.387/0001-21",
+            "4467938700012",
+            "446793870001200",
+            "1568461119a",
+            "+1568461119",
+            "\t15684611192"})
+    void documentosInvalidos(String documento) {
+        assertFalse(CpfCnpjValidator.checkCPFCNPJ(documento));
+        assertFalse(CpfCnpjValidator.checkCPF(documento));
+        assertFalse(CpfCnpjValidator.checkCNPJ(documento));
+    }
+
+    @Test
+    void validaTrechosDeArraysETextos() {
+        char[] chars = "cpf=156.846.111-92;".toCharArray();
+        assertTrue(CpfCnpjValidator.checkCPF(chars, 4, 14));
+        assertFalse(CpfCnpjValidator.checkCPF(chars, 3, 14));
+
+        byte[] bytes = "x44679387000120x".getBytes(StandardCharsets.ISO_8859_1);
+        assertTrue(CpfCnpjValidator.checkCNPJ(bytes, 1, 14));
+        assertTrue(CpfCnpjValidator.checkCPFCNPJ(bytes, 1, 14));
+
+        assertTrue(CpfCnpjValidator.checkCNPJ(new StringBuilder("[44.679.387/0001-20]"), 1, 19));
+        assertFalse(CpfCnpjValidator.checkCPF(null));
+        assertFalse(CpfCnpjValidator.checkCNPJ(null));
+        assertFalse(CpfCnpjValidator.checkCPFCNPJ((CharSequence) null));
+    }
+
+    /**
+     * Compara com a implementação original de {@link CpfCnpjUtils} em documentos aleatórios, válidos e
+     * inválidos, com e sem formatação.
+     */
+    @Test
+    void mesmoResultadoDaImplementacaoOriginal() {
+        Random random = new Random(42);
+        char[] alfabeto = "0123456789012345678901234567890123456789 ./-a\u0661".toCharArray();
+        for (int i = 0; i < 200_000; i++) {
+            String documento;
+            if (i % 2 == 0) {
+                documento = CpfCnpjUtils.formatCpfCnpj(digitos(random, random.nextBoolean() ? 11 : 14));
+            } else {
+                char[] chars = new char[10 + random.nextInt(10)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = alfabeto[random.nextInt(alfabeto.length)];
+                }
+                documento = new String(chars);
+            }
+            assertEquals(Legado.checkCPF(documento), CpfCnpjValidator.checkCPF(documento), documento);
+            assertEquals(Legado.checkCNPJ(documento), CpfCnpjValidator.checkCNPJ(documento), documento);
+        }
+    }
+
+    /** Documento com dígitos verificadores corretos em metade dos casos. */
+    private static String digitos(Random random, int tamanho) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tamanho; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        for (int d = 0; d <= 99 && random.nextBoolean(); d++) {
+            builder.replace(tamanho - 2, tamanho, String.format("%02d", d));
+            if (Legado.checkCPF(builder.toString()) || Legado.checkCNPJ(builder.toString())) {
+                break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Cópia da implementação original de {@link CpfCnpjUtils}, usada como referência. Entradas em que ela
+     * lançava {@link NumberFormatException} (sinal ou caracteres de controle) são tratadas como inválidas.
+     */
+    private static final class Legado {
+
+        private static final char[] FORMATACAO = new char[] {' ', '.', '-', '/'};
+
+        static boolean checkCPF(String cpf) {
+            try {
+                return checkCPFOriginal(cpf);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        static boolean checkCNPJ(String cnpj) {
+            try {
+                return checkCNPJOriginal(cnpj);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        static boolean checkCPFOriginal(String cpf) {
+            if (cpf != null) {
+                cpf = StringTools.removeCharacters(cpf, FORMATACAO);
+
+                return cpf.length() == CpfCnpjUtils.CPF_DOC_LENGTH && StringTools.toLong(cpf) != null && isCPF(cpf);
+            }
+
+            return false;
+        }
+
+        static boolean checkCNPJOriginal(String cnpj) {
+            if (cnpj != null) {
+                cnpj = StringTools.removeCharacters(cnpj, FORMATACAO);
+
+                return cnpj.length() == CpfCnpjUtils.CNPJ_DOC_LENGTH && StringTools.toLong(cnpj) != null && isCNPJ(cnpj);
+            }
+
+            return false;
+        }
+
+        private static boolean isCPF(String cpf) {
+            if (cpf.length() != CpfCnpjUtils.CPF_DOC_LENGTH) {
+                return false;
+            }
+
+            String rcpf1 = cpf.substring(0, 9);
+            String rcpf2 = cpf.substring(9);
+
+            int d1 = 0;
+            for (int i = 0; i < 9; i++) {
+                d1 += Integer.parseInt(rcpf1.substring(i, i + 1)) * (10 - i);
+            }
+
+            d1 = 11 - (d1 % 11);
+
+            if (d1 > 9) {
+                d1 = 0;
+            }
+
+            if (Integer.parseInt(rcpf2.substring(0, 1)) != d1) {
+                return false;
+            }
+
+            d1 *= 2;
+            for (int i = 0; i < 9; i++) {
+                d1 += Integer.parseInt(rcpf1.charAt(i) + "") * (11 - i);
+            }
+
+            d1 = 11 - (d1 % 11);
+            if (d1 > 9) {
+                d1 = 0;
+            }
+
+            if (Integer.parseInt(rcpf2.charAt(1) + "") != d1) {
+                return false;
+            }
+
+            // Verifica se o cpf contém todos os dígitos iguais.
+            boolean contemNumeroIguais = StringTools.toLong(cpf) - StringTools.toLong(StringTools.fill(cpf.charAt(0), cpf.length())) == 0; 
+            return !contemNumeroIguais;
+        }
+
+        private static boolean isCNPJ(String cnpj) {
+            StringBuilder cnpjTMP = new StringBuilder();
+            char ch;
+            for (int x = 1; x <= cnpj.length(); x++) {
+                ch = cnpj.charAt(x - 1);
+                cnpjTMP.append(ch);
+            }
+
+            cnpj = cnpjTMP.toString();
+
+            if (cnpj.length() != CpfCnpjUtils.CNPJ_DOC_LENGTH) {
+                return false;
+            } else if (cnpj.equals("00000000000000")) {
+                return false;
+            } else {
+                int[] numero = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+                numero[1] = Integer.parseInt(cnpj.substring(0, 1));
+                numero[2] = Integer.parseInt(cnpj.substring(1, 2));
+                numero[3] = Integer.parseInt(cnpj.substring(2, 3));
+                numero[4] = Integer.parseInt(cnpj.substring(3, 4));
+                numero[5] = Integer.parseInt(cnpj.substring(4, 5));
+                numero[6] = Integer.parseInt(cnpj.substring(5, 6));
+                numero[7] = Integer.parseInt(cnpj.substring(6, 7));
+                numero[8] = Integer.parseInt(cnpj.substring(7, 8));
+                numero[9] = Integer.parseInt(cnpj.substring(8, 9));
+                numero[10] = Integer.parseInt(cnpj.substring(9, 10));
+                numero[11] = Integer.parseInt(cnpj.substring(10, 11));
+                numero[12] = Integer.parseInt(cnpj.substring(11, 12));
+                numero[13] = Integer.parseInt(cnpj.substring(12, 13));
+                numero[14] = Integer.parseInt(cnpj.substring(13, 14));
+
+                int soma = numero[1] * 5 + numero[2] * 4 + numero[3] * 3 + numero[4] * 2 + numero[5] * 9 + numero[6] * 8 + numero[7] * 7 + numero[8] * 6 + numero[9] * 5 + numero[10] * 4 + numero[11] * 3 + numero[12] * 2;
+
+                soma = soma - (11 * (soma / 11));
+                int resultado1;
+                int resultado2;
+            
+                if (soma == 0 || soma == 1) {
+                    resultado1 = 0;
+                } else {
+                    resultado1 = 11 - soma;
+                }
+            
+                if (resultado1 == numero[13]) {
+                    soma = numero[1] * 6 + numero[2] * 5 + numero[3] * 4 + numero[4] * 3 + numero[5] * 2 + numero[6] * 9 + numero[7] * 8 + numero[8] * 7 + numero[9] * 6 + numero[10] * 5 + numero[11] * 4 + numero[12] * 3 + numero[13] * 2;
+                    soma = soma - (11 * (soma / 11));
+                    if (soma == 0 || soma == 1) {
+                        resultado2 = 0;
+                    } else {
+                        resultado2 = 11 - soma;
+                    }
+                
+                    return resultado2 == numero[14];
+                }
+                return false;
+            }
+        }
+    }
+}
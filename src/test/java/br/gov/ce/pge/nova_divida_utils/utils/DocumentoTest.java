@@ -0,0 +1,82 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentoTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "000.000.001-91, CPF, 00000000191, 000.000.001-91",
+            "15684611192, CPF, 15684611192, 156.846.111-92",
+            "44.679.387/0001-20, CNPJ, 44679387000120, 44.679.387/0001-20",
+            "72039208000125, CNPJ, 72039208000125, 72.039.208/0001-25"})
+    void criaEFormataDocumentos(String entrada, Documento.Tipo tipo, String digitos, String formatado) {
+        Documento documento = Documento.parse(entrada);
+
+        assertEquals(tipo, documento.getTipo());
+        assertEquals(digitos, documento.toDigits());
+        assertEquals(formatado, documento.format());
+        assertEquals(CpfCnpjUtils.formatCpfCnpj(digitos), documento.format());
+        assertEquals(Long.parseLong(digitos), documento.getNumero());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123.456.789-00", "111.111.111-11", "00000000000000", "44.679.387/0001-21", "abc"})
+    void rejeitaDocumentosInvalidos(String entrada) {
+        assertTrue(Documento.tryParse(entrada).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Documento.parse(entrada));
+    }
+
+    @Test
+    void parseComTipoExigeOTipoInformado() {
+        assertTrue(Documento.parseCpf("156.846.111-92").isCpf());
+        assertTrue(Documento.parseCnpj("44.679.387/0001-20").isCnpj());
+        assertThrows(IllegalArgumentException.class, () -> Documento.parseCnpj("156.846.111-92"));
+        assertThrows(IllegalArgumentException.class, () -> Documento.parseCpf(null));
+        assertTrue(Documento.tryParse(null).isEmpty());
+    }
+
+    @Test
+    void igualdadePeloNumeroETipo() {
+        Documento formatado = Documento.parse("156.846.111-92");
+        Documento naoFormatado = Documento.parse("15684611192");
+
+        assertEquals(formatado, naoFormatado);
+        assertEquals(formatado.hashCode(), naoFormatado.hashCode());
+        assertNotEquals(formatado, Documento.parse("44.679.387/0001-20"));
+    }
+
+    @Test
+    void codificacaoBinariaPreservaOrdemEIdaEVolta() {
+        List<Documento> documentos = new ArrayList<>();
+        for (String valor : new String[]{"44.529.023/0001-63", "156.846.111-92", "000.000.001-91",
+                "72.039.208/0001-25", "013.163.591-31", "44.679.387/0001-20"}) {
+            documentos.add(Documento.parse(valor));
+        }
+        List<Documento> porDocumento = new ArrayList<>(documentos);
+        porDocumento.sort(Comparator.naturalOrder());
+        List<Documento> porBytes = new ArrayList<>(documentos);
+        porBytes.sort((a, b) -> Arrays.compareUnsigned(a.toBytes(), b.toBytes()));
+
+        assertEquals(porDocumento, porBytes);
+        assertEquals("000.000.001-91", porDocumento.get(0).format());
+        assertTrue(porDocumento.get(porDocumento.size() - 1).isCnpj());
+        for (Documento documento : documentos) {
+            assertEquals(documento, Documento.fromKey(documento.toKey()));
+            assertEquals(documento, Documento.fromBytes(documento.toBytes()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Documento.fromKey(15684611193L));
+        assertThrows(IllegalArgumentException.class, () -> Documento.fromKey(100_000_000_000L + 15684611192L));
+        assertThrows(IllegalArgumentException.class, () -> Documento.fromBytes(new byte[3]));
+    }
+}
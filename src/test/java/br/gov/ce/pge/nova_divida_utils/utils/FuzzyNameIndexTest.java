@@ -0,0 +1,163 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyNameIndexTest {
+
+    private static final String[] NOMES = {
+            "JOSÉ DA SILVA SANTOS",
+            "José Silva Santos",
+            "MARIA DAS GRAÇAS SOUZA",
+            "Maria Graças Sousa",
+            "JOAO CARLOS PEREIRA",
+            "Comércio & Indústria Irmãos Gonçalves Ltda.",
+            "COMERCIO E INDUSTRIA IRMAOS GONSALVES LTDA",
+            "FELIPE THIAGO MATTOS",
+            "PHILIPE TIAGO MATOS",
+            "ANA PAULA RODRIGUES"
+    };
+
+    @TempDir
+    Path diretorio;
+
+    private static FuzzyNameIndex indexar(String... nomes) {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (String nome : nomes) {
+            index.add(nome);
+        }
+        return index;
+    }
+
+    @Test
+    void deveEncontrarNomeIgualNormalizadoComSimilaridadeMaxima() {
+        FuzzyNameIndex index = indexar(NOMES);
+        List<FuzzyNameIndex.Resultado> resultado = index.search("jose silva santos", 2);
+        assertEquals(2, resultado.size());
+        assertEquals(0, resultado.get(0).id());
+        assertEquals(1.0, resultado.get(0).similaridade());
+        assertEquals(1, resultado.get(1).id());
+        assertEquals(1.0, resultado.get(1).similaridade());
+    }
+
+    @Test
+    void deveEncontrarVariacoesDeGrafia() {
+        FuzzyNameIndex index = indexar(NOMES);
+        assertEquals(List.of(2, 3), ids(index.search("MARIA GRACAS SOUZA", 2)));
+        assertEquals(Set.of(7, 8), Set.copyOf(ids(index.search("Filipe Tiago Matos", 2))));
+        assertEquals(Set.of(5, 6), Set.copyOf(ids(index.search("COMERCIO INDUSTRIA IRMAOS GONCALVES", 2))));
+    }
+
+    @Test
+    void deveOrdenarPorSimilaridadeERespeitarLimites() {
+        FuzzyNameIndex index = indexar(NOMES);
+        List<FuzzyNameIndex.Resultado> resultado = index.search("JOAO PEREIRA", 5);
+        assertTrue(resultado.size() <= 5);
+        assertEquals(4, resultado.get(0).id());
+        for (int i = 1; i < resultado.size(); i++) {
+            assertTrue(resultado.get(i - 1).similaridade() >= resultado.get(i).similaridade());
+        }
+        assertTrue(index.search("JOAO PEREIRA", 5, 0.99).isEmpty());
+        assertTrue(index.search("JOAO PEREIRA", 0).isEmpty());
+        assertTrue(index.search("", 5).isEmpty());
+        assertTrue(index.search(null, 5).isEmpty());
+        assertTrue(new FuzzyNameIndex().search("JOAO", 5).isEmpty());
+    }
+
+    @Test
+    void deveIndexarIncrementalmente() {
+        FuzzyNameIndex index = indexar(NOMES);
+        assertTrue(index.search("RAIMUNDO NONATO", 1, 0.5).isEmpty());
+        assertEquals(NOMES.length, index.add("RAIMUNDO NONATO"));
+        assertEquals(NOMES.length + 1, index.add(null));
+        assertEquals(NOMES.length + 2, index.size());
+        assertEquals(List.of(NOMES.length), ids(index.search("Raimundo Nonato", 1, 0.5)));
+    }
+
+    @Test
+    void deveGravarELerOIndice() throws IOException {
+        FuzzyNameIndex index = indexar(NOMES);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        FuzzyNameIndex lido = FuzzyNameIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(index.size(), lido.size());
+        for (String nome : NOMES) {
+            assertEquals(index.search(nome, 3), lido.search(nome, 3));
+        }
+
+        Path arquivo = diretorio.resolve("nomes.idx");
+        index.save(arquivo);
+        assertEquals(out.size(), Files.size(arquivo));
+        assertEquals(index.search("MARIA SOUSA", 3), FuzzyNameIndex.load(arquivo).search("MARIA SOUSA", 3));
+
+        // O índice lido continua aceitando novos nomes.
+        for (String nome : NOMES) {
+            lido.add(nome);
+        }
+        assertEquals(List.of(0, 1, NOMES.length, NOMES.length + 1), ids(lido.search("JOSE SILVA SANTOS", 4)));
+    }
+
+    @Test
+    void deveRejeitarArquivoInvalido() {
+        byte[] dados = "nao e um indice".getBytes();
+        assertThrows(IOException.class, () -> FuzzyNameIndex.readFrom(new ByteArrayInputStream(dados)));
+    }
+
+    @Test
+    void deveSerIgualABuscaExaustivaEmIndiceGrande() {
+        String[] primeiros = {"JOSE", "MARIA", "ANA", "FRANCISCO", "ANTONIO", "FRANCISCA", "JOAO", "RAIMUNDA",
+                "PAULO", "LUCAS", "FERNANDA", "TIAGO", "GABRIEL", "LETICIA", "CICERO"};
+        String[] sobrenomes = {"SILVA", "SANTOS", "OLIVEIRA", "SOUSA", "LIMA", "PEREIRA", "FERREIRA", "COSTA",
+                "RODRIGUES", "ALMEIDA", "NASCIMENTO", "ARAUJO", "CAVALCANTE", "BEZERRA", "HOLANDA", "MACEDO"};
+        Random random = new Random(7);
+        String[] nomes = new String[20_000];
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = primeiros[random.nextInt(primeiros.length)] + " "
+                    + sobrenomes[random.nextInt(sobrenomes.length)] + " "
+                    + sobrenomes[random.nextInt(sobrenomes.length)] + " " + i;
+            index.add(nomes[i]);
+        }
+        String procurado = "JOSE HOLANDA MACEDO 1234";
+        int[] termos = FuzzyNameIndex.termos(procurado);
+        double melhor = 0;
+        for (String nome : nomes) {
+            melhor = Math.max(melhor, dice(termos, FuzzyNameIndex.termos(nome)));
+        }
+        List<FuzzyNameIndex.Resultado> resultado = index.search(procurado, 3);
+        assertEquals(melhor, resultado.get(0).similaridade(), 1e-12);
+        assertEquals(dice(termos, FuzzyNameIndex.termos(nomes[resultado.get(0).id()])),
+                resultado.get(0).similaridade(), 1e-12);
+    }
+
+    private static double dice(int[] a, int[] b) {
+        int comuns = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                comuns++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * comuns / (a.length + b.length);
+    }
+
+    private static List<Integer> ids(List<FuzzyNameIndex.Resultado> resultado) {
+        return resultado.stream().map(FuzzyNameIndex.Resultado::id).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package br.gov.ce.pge.nova_divida_utils.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringCacheTest {
+
+    @Test
+    void deveContarAcertosEFalhas() {
+        AtomicInteger chamadas = new AtomicInteger();
+        StringCache cache = StringCache.builder(valor -> {
+            chamadas.incrementAndGet();
+            return StringTools.normalize(valor);
+        }).build();
+
+        assertEquals("Joao", cache.apply("João"));
+        assertEquals("Joao", cache.apply("João"));
+        assertEquals("Maria", cache.apply("Maria"));
+        assertNull(cache.apply(null));
+
+        StringCache.Estatisticas estatisticas = cache.estatisticas();
+        assertEquals(1, estatisticas.acertos());
+        assertEquals(2, estatisticas.falhas());
+        assertEquals(0, estatisticas.remocoes());
+        assertEquals(2, estatisticas.entradas());
+        assertEquals(1.0 / 3, estatisticas.taxaAcerto(), 1e-12);
+        assertEquals(3, chamadas.get());
+    }
+
+    @Test
+    void deveDarSegundaChanceAsEntradasUsadas() {
+        StringCache cache = StringCache.builder(String::toUpperCase).maxEntradas(3).build();
+        cache.apply("a");
+        cache.apply("b");
+        cache.apply("c");
+        cache.apply("a");
+        cache.apply("d");
+
+        assertEquals(3, cache.estatisticas().entradas());
+        assertEquals(1, cache.estatisticas().remocoes());
+        long falhas = cache.estatisticas().falhas();
+        cache.apply("a");
+        cache.apply("c");
+        cache.apply("d");
+        assertEquals(falhas, cache.estatisticas().falhas());
+        cache.apply("b");
+        assertEquals(falhas + 1, cache.estatisticas().falhas());
+    }
+
+    @Test
+    void deveRespeitarLimiteDeMemoria() {
+        long maxBytes = 100 * (StringCache.CUSTO_ENTRADA + 40);
+        StringCache cache = StringCache.builder(String::toUpperCase).maxBytes(maxBytes).build();
+        for (int i = 0; i < 1000; i++) {
+            cache.apply("nome " + i);
+            assertTrue(cache.estatisticas().bytes() <= maxBytes);
+        }
+        assertTrue(cache.estatisticas().entradas() <= maxBytes / StringCache.CUSTO_ENTRADA);
+        assertTrue(cache.estatisticas().remocoes() > 0);
+    }
+
+    @Test
+    void naoDeveGuardarEntradasGrandes() {
+        StringCache cache = StringCache.builder(String::toUpperCase).maxBytes(16 * 1024).build();
+        String grande = "x".repeat(10_000);
+        assertEquals(grande.toUpperCase(), cache.apply(grande));
+        assertEquals(0, cache.estatisticas().entradas());
+    }
+
+    @Test
+    void deveLimparEntradas() {
+        StringCache cache = StringCache.builder(String::toUpperCase).build();
+        cache.apply("a");
+        cache.apply("b");
+        cache.clear();
+        assertEquals(0, cache.estatisticas().entradas());
+        assertEquals(0, cache.estatisticas().bytes());
+        cache.apply("a");
+        assertEquals(3, cache.estatisticas().falhas());
+    }
+
+    @Test
+    void deveSerSeguroEntreThreads() throws Exception {
+        StringCache cache = StringCache.builder(StringTools::normalize).maxEntradas(100).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int semente = t;
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int n = (i * 31 + semente) % 300;
+                        assertEquals("Conceicao " + n, cache.apply("Conceição " + n));
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        StringCache.Estatisticas estatisticas = cache.estatisticas();
+        assertTrue(estatisticas.entradas() <= 100);
+        assertEquals(8 * 20_000, estatisticas.acertos() + estatisticas.falhas());
+    }
+}
@@ -4,11 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class StringToolsTest {
 
@@ -114,4 +122,135 @@ class StringToolsTest {
     );
   }
 
+  private static final StringTools.Sanitizer NOME = StringTools.sanitizer()
+          .removerAcentos(true)
+          .permitir(StringTools.Sanitizer.Classe.LETRAS_ASCII, StringTools.Sanitizer.Classe.DIGITOS_ASCII,
+                  StringTools.Sanitizer.Classe.ESPACOS)
+          .permitir('.', '-')
+          .caixa(StringTools.Sanitizer.Caixa.MAIUSCULAS)
+          .aparar(true)
+          .juntarEspacos(true)
+          .build();
+
+  @ParameterizedTest
+  @MethodSource("gerarValoresSanitizer")
+  void sanitizerTest(String entrada, String saida) {
+    assertEquals(saida, NOME.sanitize(entrada));
+    assertEquals(saida, sanitizeEncadeado(entrada));
+  }
+
+  public static Stream<Arguments> gerarValoresSanitizer() {
+    return Stream.of(
+            Arguments.arguments("  João   da\tConceição  ", "JOAO DA CONCEICAO"),
+            Arguments.arguments("Comércio & Indústria (Filial 02) Ltda.", "COMERCIO INDUSTRIA FILIAL 02 LTDA."),
+            Arguments.arguments("Rua São José, nº 10 - Apto. 3", "RUA SAO JOSE N 10 - APTO. 3"),
+            Arguments.arguments("Ελληνικά Ação ☃", "ACAO"),
+            Arguments.arguments(" \n ", ""),
+            Arguments.arguments("", "")
+    );
+  }
+
+  @Test
+  void sanitizerAleatorioTest() {
+    char[] alfabeto = "aZ09 .-_\t\n\u000B\f\rçÃéÜñß&%€ÿĀłǅ\u0301\u0327Ω\uD83D\uDE00".toCharArray();
+    Random random = new Random(42);
+    for (int i = 0; i < 20_000; i++) {
+      char[] chars = new char[random.nextInt(12)];
+      for (int j = 0; j < chars.length; j++) {
+        chars[j] = alfabeto[random.nextInt(alfabeto.length)];
+      }
+      String entrada = new String(chars);
+      assertEquals(sanitizeEncadeado(entrada), NOME.sanitize(entrada), entrada);
+    }
+  }
+
+  @Test
+  void sanitizerMesmaInstanciaTest() {
+    String nome = "JOSE DA SILVA";
+    assertSame(nome, NOME.sanitize(nome));
+    assertSame(nome, StringTools.sanitizer().build().sanitize(nome));
+    assertNull(NOME.sanitize(null));
+  }
+
+  @Test
+  void sanitizerLetrasUnicodeTest() {
+    StringTools.Sanitizer letras = StringTools.sanitizer()
+            .permitir(StringTools.Sanitizer.Classe.LETRAS, StringTools.Sanitizer.Classe.ESPACOS)
+            .caixa(StringTools.Sanitizer.Caixa.MINUSCULAS)
+            .build();
+    assertEquals("ação ελληνικά ", letras.sanitize("AÇÃO-123 ΕΛΛΗΝΙΚΆ!! "));
+  }
+
+  /**
+   * Mesma limpeza de {@link #NOME} encadeando as operações anteriores.
+   */
+  private static String sanitizeEncadeado(String str) {
+    String normalizado = Normalizer.normalize(str, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    return normalizado.replaceAll("[^a-zA-Z0-9.\\s-]", "")
+            .toUpperCase(Locale.ROOT)
+            .trim()
+            .replaceAll("\\s+", " ");
+  }
+
+  @ParameterizedTest
+  @MethodSource("gerarValoresAcento")
+  void normalizeCachedTest(String entrada, String saida) {
+    long consultas = StringTools.normalizeCache().estatisticas().acertos()
+            + StringTools.normalizeCache().estatisticas().falhas();
+    assertEquals(saida, StringTools.normalizeCached(entrada));
+    assertEquals(saida, StringTools.normalizeCached(entrada));
+    assertEquals(StringTools.removePunctuationExcept(entrada), StringTools.removePunctuationExceptCached(entrada));
+    assertEquals(consultas + 2, StringTools.normalizeCache().estatisticas().acertos()
+            + StringTools.normalizeCache().estatisticas().falhas());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "12345", " 42 ", "\t-7\n", "+15", "-0", "007", "9223372036854775807",
+          "-9223372036854775808", "9223372036854775808", "-9223372036854775809", "99999999999999999999",
+          "2147483647", "2147483648", "-2147483648", "-2147483649", "", " ", "-", "+", "+-1", "1 2", "12a",
+          "1.0", "1,0", "٣٤", "１２", "\u0000 5 \u001F", "\u00A05"})
+  void parseLongTest(String valor) {
+    assertEquals(toLongAnterior(valor), StringTools.toLong(valor));
+    Long esperado = toLongAnterior(valor);
+    OptionalLong numero = StringTools.parseLong(valor);
+    assertEquals(esperado != null, numero.isPresent());
+    if (esperado != null) {
+      assertEquals(esperado, numero.getAsLong());
+      assertEquals(esperado, StringTools.parseLong(valor, 0, valor.length(), -1));
+    }
+    Integer esperadoInt = parseIntAnterior(valor);
+    OptionalInt numeroInt = StringTools.parseInt(valor);
+    assertEquals(esperadoInt != null, numeroInt.isPresent());
+    assertEquals(esperadoInt == null ? -1 : esperadoInt, StringTools.parseInt(valor, 0, valor.length(), -1));
+  }
+
+  @Test
+  void parseLongTrechoTest() {
+    String linha = "ABC  00123;-45;x";
+    assertEquals(123L, StringTools.parseLong(linha, 3, 10, -1));
+    assertEquals(OptionalLong.of(-45), StringTools.parseLong(linha, 11, 14));
+    assertEquals(OptionalLong.empty(), StringTools.parseLong(linha, 15, 16));
+    assertEquals(-1, StringTools.parseLong(linha, 0, 10, -1));
+    assertEquals(0, StringTools.parseInt(new StringBuilder("0"), 0, 1, -1));
+    assertEquals(OptionalLong.empty(), StringTools.parseLong(null));
+    assertEquals(OptionalInt.empty(), StringTools.parseInt(null));
+    assertThrows(IndexOutOfBoundsException.class, () -> StringTools.parseLong(linha, 10, 100, -1));
+  }
+
+  private static Long toLongAnterior(String value) {
+    try {
+      return Long.valueOf(value.trim());
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static Integer parseIntAnterior(String value) {
+    try {
+      return Integer.valueOf(value.trim());
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
 }